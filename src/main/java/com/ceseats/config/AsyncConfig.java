@@ -24,5 +24,18 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * 스트리밍 응답(StreamingResponseBody) 작성용
+     */
+    @Bean(name = "streamingResponseExecutor")
+    public ThreadPoolTaskExecutor streamingResponseExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(20);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("stream-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -14,9 +14,12 @@ import java.io.IOException;
 /**
  * 요청/응답 본문을 캐싱하기 위한 필터
  * Interceptor에서 요청/응답 본문을 읽을 수 있도록 함
+ * 스트리밍 응답은 전체를 메모리에 모으지 않도록 요청 본문만 캐싱
  */
 @Component
 public class RequestWrapperFilter extends OncePerRequestFilter {
+
+    private static final String STREAMING_PATH_SUFFIX = "/stream";
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -27,6 +30,11 @@ public class RequestWrapperFilter extends OncePerRequestFilter {
         // 요청 본문을 캐싱할 수 있도록 래핑
         ContentCachingRequestWrapper requestWrapper = 
             new ContentCachingRequestWrapper(request);
+
+        if (request.getRequestURI().endsWith(STREAMING_PATH_SUFFIX)) {
+            filterChain.doFilter(requestWrapper, response);
+            return;
+        }
         
         // 응답 본문을 캐싱할 수 있도록 래핑
         ContentCachingResponseWrapper responseWrapper = 
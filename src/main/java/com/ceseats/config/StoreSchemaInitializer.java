@@ -0,0 +1,114 @@
+package com.ceseats.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * stores 테이블의 PostgreSQL 전용 스키마 설정
+ * JPA @Index로 표현할 수 없는 부분(PostGIS geography 컬럼, GiST 인덱스, types GIN 인덱스)을 시작 시 생성
+ * ddl-auto=update로 테이블이 만들어진 뒤 실행되도록 SmartInitializingSingleton 사용
+ */
+@Slf4j
+@Component
+public class StoreSchemaInitializer implements SmartInitializingSingleton {
+
+    public static final String BACKEND_HAVERSINE = "haversine";
+    public static final String BACKEND_POSTGIS = "postgis";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 반경 조회 DB 백엔드: haversine(기본) | postgis
+    @Value("${store.spatial.backend:haversine}")
+    private String spatialBackend;
+
+    private volatile boolean postgreSql;
+    private volatile boolean postgisReady;
+    private volatile boolean typesIndexReady;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        postgreSql = detectPostgreSql();
+        if (postgreSql) {
+            typesIndexReady = initTypesIndex();
+        }
+        if (BACKEND_POSTGIS.equalsIgnoreCase(spatialBackend)) {
+            postgisReady = postgreSql && initPostgis();
+            if (!postgisReady) {
+                log.warn("[StoreSchemaInitializer] store.spatial.backend=postgis 이지만 PostGIS를 사용할 수 없어 Haversine 쿼리를 사용합니다.");
+            }
+        }
+    }
+
+    public boolean isPostgreSql() {
+        return postgreSql;
+    }
+
+    /**
+     * PostGIS 모드 사용 가능 여부 (설정 + geog 컬럼/인덱스 준비 완료)
+     */
+    public boolean isPostgisReady() {
+        return postgisReady;
+    }
+
+    /**
+     * types 배열 컬럼의 GIN 인덱스 준비 여부 (PostgreSQL 전용)
+     */
+    public boolean isTypesIndexReady() {
+        return typesIndexReady;
+    }
+
+    private boolean detectPostgreSql() {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            return product != null && product.toLowerCase().contains("postgres");
+        } catch (Exception e) {
+            log.error("[StoreSchemaInitializer] DB 종류 확인 실패: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * types && :types 조회용 GIN 인덱스 (컬럼 자체는 ddl-auto로 생성)
+     */
+    private boolean initTypesIndex() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_stores_types ON stores USING GIN (types)");
+            log.info("[StoreSchemaInitializer] types GIN index ready");
+            return true;
+        } catch (Exception e) {
+            log.error("[StoreSchemaInitializer] types GIN 인덱스 생성 실패: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * geog 컬럼은 latitude/longitude로부터 계산되는 generated column이라 별도 동기화 코드가 필요 없음
+     * (PostgreSQL 12+, PostGIS 확장 필요. 예: postgis/postgis:15-3.4-alpine 이미지)
+     */
+    private boolean initPostgis() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS postgis");
+            jdbcTemplate.execute("""
+                ALTER TABLE stores ADD COLUMN IF NOT EXISTS geog geography(Point, 4326)
+                GENERATED ALWAYS AS (CAST(ST_SetSRID(ST_MakePoint(longitude, latitude), 4326) AS geography)) STORED
+                """);
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_stores_geog ON stores USING GIST (geog)");
+            log.info("[StoreSchemaInitializer] PostGIS geog column and GiST index ready");
+            return true;
+        } catch (Exception e) {
+            log.error("[StoreSchemaInitializer] PostGIS 초기화 실패: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+}
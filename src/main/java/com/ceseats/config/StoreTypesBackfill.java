@@ -0,0 +1,116 @@
+package com.ceseats.config;
+
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import com.ceseats.repository.StoreRepository;
+import com.ceseats.service.PlaceCategory;
+import com.ceseats.service.ReviewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * stores의 types 파생 컬럼 1회성 backfill (Redis types:<placeId> → DB)
+ * - types 배열 (PostgreSQL만)
+ * - category / display_type / type_mask (PlaceCategory로 계산, 모든 DB)
+ * 값이 NULL인 행만 대상이라 이미 채워진 뒤에는 조회 한 번으로 끝남
+ * Redis에 types가 없는 장소는 NULL로 남겨 두고 다음 시작 시 다시 확인 ("other"로 고정하지 않음)
+ *
+ * 완료 후 StoreGeoService가 types && 조건 쿼리(findStoresWithinRadiusAndTypes) 사용
+ * (RAG type 필터는 TypeBitmapIndex가 우선이고, 비트맵이 로딩 전이거나 비활성화된 경우의 fallback)
+ */
+@Slf4j
+@Component
+public class StoreTypesBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoreSchemaInitializer storeSchemaInitializer;
+
+    @Value("${store.types.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private volatile boolean ready;
+
+    /**
+     * types 컬럼 조회 가능 여부 (PostgreSQL + GIN 인덱스 + backfill 완료)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void backfill() {
+        boolean withTypesColumn = storeSchemaInitializer.isTypesIndexReady();
+        if (!backfillOnStartup) {
+            ready = withTypesColumn;
+            return;
+        }
+        final long t0 = System.nanoTime();
+        try {
+            List<String> placeIds = withTypesColumn
+                    ? storeRepository.findPlaceIdsWithoutTypes()
+                    : storeRepository.findPlaceIdsWithoutTypeMask();
+            int updated = 0;
+            for (int from = 0; from < placeIds.size(); from += BATCH_SIZE) {
+                // Redis 장애 중에는 getTypes가 빈 결과를 주므로 빈 배열로 덮어쓰지 않도록 중단
+                if (!redisConnectionMonitor.isHealthy()) {
+                    log.warn("[StoreTypesBackfill] Redis unavailable, backfill stopped at {}/{}", from, placeIds.size());
+                    return;
+                }
+                List<String> batch = placeIds.subList(from, Math.min(from + BATCH_SIZE, placeIds.size()));
+                Map<String, List<String>> typesByPlaceId = reviewService.getTypes(batch);
+                List<Object[]> args = new ArrayList<>(batch.size());
+                for (String placeId : batch) {
+                    List<String> types = typesByPlaceId.get(placeId);
+                    if (types == null || types.isEmpty()) {
+                        // 아직 types가 없는 장소는 NULL 유지
+                        continue;
+                    }
+                    String category = PlaceCategory.categoryOf(types);
+                    String displayType = PlaceCategory.displayTypeOf(types);
+                    long typeMask = PlaceCategory.typeMask(types);
+                    if (withTypesColumn) {
+                        args.add(new Object[]{String.join(",", types), category, displayType, typeMask, placeId});
+                    } else {
+                        args.add(new Object[]{category, displayType, typeMask, placeId});
+                    }
+                }
+                if (args.isEmpty()) continue;
+                updated += args.size();
+                jdbcTemplate.batchUpdate(withTypesColumn
+                        ? "UPDATE stores SET types = CAST(string_to_array(?, ',') AS varchar[]), category = ?, display_type = ?, type_mask = ? WHERE place_id = ?"
+                        : "UPDATE stores SET category = ?, display_type = ?, type_mask = ? WHERE place_id = ?",
+                        args);
+            }
+            ready = withTypesColumn;
+            log.info("[StoreTypesBackfill] backfilled types/category for {}/{} stores (rest have no types yet): {}ms",
+                    updated, placeIds.size(), (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            // 실패 시 types 필터는 TypeBitmapIndex / Redis SET 경로 사용
+            log.error("[StoreTypesBackfill] backfill failed: {}", e.getMessage(), e);
+        }
+    }
+}
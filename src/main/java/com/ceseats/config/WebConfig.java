@@ -21,6 +21,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/api/**") // /api로 시작하는 모든 경로
                 .excludePathPatterns(
                     "/api/health", // 헬스체크는 제외
+                    "/api/health/**",
                     "/h2-console/**" // H2 콘솔은 제외
                 );
     }
@@ -1,22 +1,32 @@
 package com.ceseats.config.redis;
 
+import com.ceseats.config.redis.codec.CompactRedisSerializer;
+import com.ceseats.config.redis.codec.StringCodec;
+import com.ceseats.config.redis.codec.StringCollectionCodec;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisConfig.class);
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Value("${redis.codec.write-compact:false}") boolean writeCompact,
+            @Value("${redis.codec.compress-threshold-bytes:512}") int compressThresholdBytes) {
         logger.info("[RedisConfig] Creating RedisTemplate...");
         logger.info("[RedisConfig] RedisConnectionFactory: {}", connectionFactory.getClass().getName());
         
@@ -35,11 +45,15 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Value는 JSON으로 직렬화 (GenericJackson2JsonRedisSerializer 사용)
-        // 이 직렬화기는 객체를 JSON으로 변환하고 @class 필드를 포함합니다
+        // 기본 JSON 직렬화기 (GenericJackson2JsonRedisSerializer, @class 필드 포함)
         ObjectMapper objectMapper = new ObjectMapper();
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        template.setValueSerializer(serializer);
+
+        // Value: 문자열 / 문자열 List·Set은 compact 형식, 나머지는 JSON (기존 JSON 값도 그대로 읽음)
+        template.setValueSerializer(new CompactRedisSerializer(
+                List.of(new StringCodec(), StringCollectionCodec.list(), StringCollectionCodec.set()),
+                serializer, compressThresholdBytes, writeCompact));
+        // Hash Value(Redis Streams 필드)는 consumer 호환을 위해 JSON 유지
         template.setHashValueSerializer(serializer);
 
         // 기본 직렬화 설정
@@ -49,5 +63,14 @@ public class RedisConfig {
         logger.info("[RedisConfig] RedisTemplate created successfully");
         return template;
     }
-}
 
+    /**
+     * Redis pub/sub 구독용 (TypesNearCache 무효화 메시지)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ceseats.config.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 연결 상태 확인
+ * 요청마다 PING을 보내는 대신 주기적으로 확인한 결과를 공유
+ * 조회 중 연결 오류가 나면 markFailure()로 다음 확인 전까지 unhealthy 처리
+ */
+@Slf4j
+@Component
+public class RedisConnectionMonitor {
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private volatile boolean healthy = true;
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public void markFailure(Exception e) {
+        if (healthy) {
+            log.warn("[Redis] marked unhealthy: {}", e.getMessage());
+        }
+        healthy = false;
+    }
+
+    @Scheduled(fixedDelayString = "${redis.health-check-interval-ms:5000}")
+    public void check() {
+        boolean ok;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            ok = "PONG".equalsIgnoreCase(connection.ping());
+        } catch (Exception e) {
+            ok = false;
+        }
+        if (ok != healthy) {
+            log.info("[Redis] connection {}", ok ? "recovered" : "FAILED");
+        }
+        healthy = ok;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ceseats.config.redis.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * RedisTemplate 값 직렬화기
+ * 등록된 codec이 처리하는 형태(문자열, 문자열 List/Set)는 compact 형식으로 저장하고,
+ * 그 외 값(숫자, 임의 객체)은 기존 JSON 직렬화기(GenericJackson2JsonRedisSerializer)로 저장
+ *
+ * compact 형식: [MAGIC][flags][tag][payload]
+ * - flags bit0: payload gzip 여부 (compressThreshold 바이트 이상이고 실제로 작아질 때만)
+ * - 첫 바이트가 MAGIC이 아니면 기존 JSON 값으로 보고 fallback으로 읽음 (이전 키, INCR 카운터 등)
+ *
+ * writeCompact=false면 쓰기는 기존 JSON 그대로 (읽기는 두 형식 모두 가능)
+ * → blue/green 배포 시 모든 인스턴스가 읽을 수 있게 된 뒤 compact 쓰기로 전환
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    private static final byte FLAG_GZIP = 0x01;
+    private static final int HEADER_SIZE = 3;
+
+    private final List<RedisValueCodec> codecs;
+    private final RedisSerializer<Object> fallback;
+    private final int compressThreshold;
+    private final boolean writeCompact;
+
+    public CompactRedisSerializer(List<RedisValueCodec> codecs, RedisSerializer<Object> fallback,
+                                  int compressThreshold, boolean writeCompact) {
+        this.codecs = List.copyOf(codecs);
+        this.fallback = fallback;
+        this.compressThreshold = compressThreshold;
+        this.writeCompact = writeCompact;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (writeCompact) {
+            for (RedisValueCodec codec : codecs) {
+                if (codec.supports(value)) {
+                    return frame(codec.tag(), codec.encode(value));
+                }
+            }
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        byte tag = bytes[2];
+        for (RedisValueCodec codec : codecs) {
+            if (codec.tag() == tag) {
+                byte[] payload = Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+                if ((bytes[1] & FLAG_GZIP) != 0) {
+                    payload = gunzip(payload);
+                }
+                return codec.decode(payload);
+            }
+        }
+        throw new SerializationException("Unknown redis value codec tag: " + tag);
+    }
+
+    private byte[] frame(byte tag, byte[] payload) {
+        byte flags = 0;
+        if (compressThreshold > 0 && payload.length >= compressThreshold) {
+            byte[] compressed = gzip(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_GZIP;
+            }
+        }
+        byte[] framed = new byte[HEADER_SIZE + payload.length];
+        framed[0] = MAGIC;
+        framed[1] = flags;
+        framed[2] = tag;
+        System.arraycopy(payload, 0, framed, HEADER_SIZE, payload.length);
+        return framed;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("gzip failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new SerializationException("gunzip failed", e);
+        }
+    }
+}
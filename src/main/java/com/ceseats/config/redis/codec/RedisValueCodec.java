@@ -0,0 +1,16 @@
+package com.ceseats.config.redis.codec;
+
+/**
+ * CompactRedisSerializer가 사용하는 값 형태별 codec
+ * tag는 저장된 바이트의 형태 구분용이라 한 번 정하면 바꾸지 않음
+ */
+public interface RedisValueCodec {
+
+    byte tag();
+
+    boolean supports(Object value);
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,31 @@
+package com.ceseats.config.redis.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 문자열 값 (RAG 결과 JSON, 상태 값 등). JSON 따옴표/이스케이프 없이 UTF-8 그대로 저장
+ */
+public class StringCodec implements RedisValueCodec {
+
+    public static final byte TAG = 1;
+
+    @Override
+    public byte tag() {
+        return TAG;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof String;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return ((String) value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ceseats.config.redis.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 문자열 List / Set 값 (types, place_id 목록)
+ * 형식: varint(개수) + [varint(길이) + UTF-8 바이트] * 개수
+ * JSON 배열 + @class 메타데이터 대비 원소당 따옴표/쉼표와 클래스명만큼 작음
+ */
+public class StringCollectionCodec implements RedisValueCodec {
+
+    public static final byte LIST_TAG = 2;
+    public static final byte SET_TAG = 3;
+
+    private final boolean set;
+
+    private StringCollectionCodec(boolean set) {
+        this.set = set;
+    }
+
+    public static StringCollectionCodec list() {
+        return new StringCollectionCodec(false);
+    }
+
+    public static StringCollectionCodec set() {
+        return new StringCollectionCodec(true);
+    }
+
+    @Override
+    public byte tag() {
+        return set ? SET_TAG : LIST_TAG;
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        if (set ? !(value instanceof Set) : !(value instanceof List)) {
+            return false;
+        }
+        for (Object element : (Collection<?>) value) {
+            if (!(element instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        Collection<?> values = (Collection<?>) value;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + values.size() * 24);
+        writeVarInt(out, values.size());
+        for (Object element : values) {
+            byte[] bytes = ((String) element).getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        int[] pos = {0};
+        int count = readVarInt(bytes, pos);
+        Collection<String> values = set ? new LinkedHashSet<>(count * 2) : new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = readVarInt(bytes, pos);
+            values.add(new String(bytes, pos[0], length, StandardCharsets.UTF_8));
+            pos[0] += length;
+        }
+        return values;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] pos) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = bytes[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
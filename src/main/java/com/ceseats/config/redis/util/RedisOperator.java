@@ -52,6 +52,15 @@ public class RedisOperator {
         }
     }
 
+    /**
+     * 키가 없을 때만 TTL과 함께 저장 (SET NX PX)
+     * 여러 인스턴스 중 하나만 작업을 실행하는 잠금으로 사용
+     * @return 저장했으면 true
+     */
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        return Boolean.TRUE.equals(this.redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+    }
+
     public String getStringValue(String key) {
         Object v = this.redisTemplate.opsForValue().get(key);
         return v != null ? v.toString() : null;
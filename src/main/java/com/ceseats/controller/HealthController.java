@@ -1,5 +1,8 @@
 package com.ceseats.controller;
 
+import com.ceseats.service.cache.GeoResponseCache;
+import com.ceseats.service.cache.TypesNearCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -15,6 +19,12 @@ import java.util.Map;
 @CrossOrigin(origins = {"https://ceseats.store", "https://cesfront.vercel.app", "http://localhost:3000"})
 public class HealthController {
 
+    @Autowired
+    private TypesNearCache typesNearCache;
+
+    @Autowired
+    private GeoResponseCache geoResponseCache;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -24,5 +34,16 @@ public class HealthController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * 로컬 캐시 hit/miss 통계
+     * GET /api/health/caches
+     */
+    @GetMapping("/health/caches")
+    public ResponseEntity<Map<String, Object>> caches() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("types", typesNearCache.getStats());
+        response.put("geoResponse", geoResponseCache.getStats());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,23 +1,61 @@
 package com.ceseats.controller;
 
 import com.ceseats.dto.request.PlaceSearchRequest;
+import com.ceseats.dto.request.PlaceViewBatchRequest;
 import com.ceseats.dto.response.PlaceSearchResponse;
+import com.ceseats.dto.response.TrendingPlaceResponse;
+import com.ceseats.service.InvalidCursorException;
+import com.ceseats.service.PlaceSearchCursor;
 import com.ceseats.service.PlaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * 장소 검색 및 추천 REST API 컨트롤러
  */
+@Slf4j
 @RestController
 @RequestMapping("/api/places")
 @CrossOrigin(origins = {"https://ceseats.store", "https://cesfront.vercel.app", "http://localhost:3000"})
 public class PlaceController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // 스트리밍 응답 최대 작성 시간
+    private static final long STREAM_TIMEOUT_MS = 60_000L;
+    private static final int DEFAULT_TRENDING_LIMIT = 10;
+    private static final int MAX_TRENDING_LIMIT = 50;
+
     @Autowired
     private PlaceService placeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("streamingResponseExecutor")
+    private ThreadPoolTaskExecutor streamingResponseExecutor;
+
+    // POST /views 한 번에 받는 최대 조회 이벤트 수
+    @Value("${view.batch.max-size:200}")
+    private int maxViewBatchSize;
+
     /**
      * 장소 검색 API (POST 방식)
      * POST /api/places/search
@@ -33,8 +71,73 @@ public class PlaceController {
         double userLat = userLatitude != null ? userLatitude : request.getLatitude();
         double userLng = userLongitude != null ? userLongitude : request.getLongitude();
 
-        PlaceSearchResponse response = placeService.searchPlaces(request, userLat, userLng);
-        return ResponseEntity.ok(response);
+        try {
+            PlaceSearchResponse response = placeService.searchPlaces(request, userLat, userLng);
+            return ResponseEntity.ok(response);
+        } catch (InvalidCursorException e) {
+            log.debug("Invalid search cursor: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 장소 검색 스트리밍 API
+     * POST /api/places/search/stream
+     * 요청 형식은 /search와 같고, PlaceResponse를 변환되는 대로 한 줄에 하나씩 NDJSON으로 전송
+     * (다음 페이지 커서가 필요하면 /search 사용)
+     * 응답 작성은 streamingResponseExecutor에서 STREAM_TIMEOUT_MS 제한으로 수행 (다른 async 요청의 기본 설정은 그대로)
+     */
+    @PostMapping(value = "/search/stream", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> streamSearchPlaces(
+            @RequestBody PlaceSearchRequest request,
+            @RequestParam(required = false) Double userLatitude,
+            @RequestParam(required = false) Double userLongitude,
+            HttpServletResponse response
+    ) {
+        double userLat = userLatitude != null ? userLatitude : request.getLatitude();
+        double userLng = userLongitude != null ? userLongitude : request.getLongitude();
+
+        // 스트림 시작 후에는 상태 코드를 바꿀 수 없으므로 커서는 미리 검증
+        try {
+            PlaceSearchCursor.decode(request.getCursor());
+        } catch (InvalidCursorException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+        }
+
+        response.setContentType(APPLICATION_NDJSON.toString());
+        Callable<Void> body = () -> {
+            OutputStream out = response.getOutputStream();
+            placeService.streamSearchPlaces(request, userLat, userLng, place -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(place));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            return null;
+        };
+        return new WebAsyncTask<>(STREAM_TIMEOUT_MS, streamingResponseExecutor, body);
+    }
+
+    /**
+     * 지금 뜨는 장소 API
+     * GET /api/places/trending?latitude=&longitude=&limit=
+     * 최근 조회가 많은 순. 위치를 주면 그 주변(격자 3x3)만 대상
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<TrendingPlaceResponse> getTrendingPlaces(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if ((latitude == null) != (longitude == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int size = limit != null && limit > 0 ? Math.min(limit, MAX_TRENDING_LIMIT) : DEFAULT_TRENDING_LIMIT;
+        return ResponseEntity.ok(placeService.getTrendingPlaces(latitude, longitude, size));
     }
 
     /**
@@ -50,11 +153,33 @@ public class PlaceController {
             }
             Long updatedViewCount = placeService.incrementViewCount(placeId);
             return ResponseEntity.ok(updatedViewCount);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             System.err.println("Error incrementing view count for placeId: " + placeId + " - " + e.getMessage());
             e.printStackTrace();
             return ResponseEntity.internalServerError().build();
         }
     }
-}
 
+    /**
+     * 조회 이벤트 일괄 전송 API (스크롤 중 표시된 카드들)
+     * POST /api/places/views
+     * RequestBody: { "views": [ { "placeId": "...", "timestamp": 1736300000000 }, ... ] }
+     * 카드마다 /{placeId}/view를 호출하는 대신 모아서 한 번에 전송 (요청/API 로그 1건, 조회수 반영 1회)
+     * @return place별 업데이트된 조회수
+     */
+    @PostMapping("/views")
+    public ResponseEntity<Map<String, Long>> recordViews(@RequestBody PlaceViewBatchRequest request) {
+        if (request == null || request.getViews() == null || request.getViews().isEmpty()
+                || request.getViews().size() > maxViewBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(placeService.recordViews(request.getViews()));
+        } catch (Exception e) {
+            log.error("Error recording view batch of {} events: {}", request.getViews().size(), e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -14,5 +14,8 @@ public class RecommendationRequest {
     private Integer radiusMeters = 5000;
     private String timeOption; //예시: "15", "30", "45", "60", "90"분
     private String type; //예시: "all", "restaurant", "cafe", "fastfood", "bar"
+    /** 최대 반환 개수. 미지정/0 이면 반경 내 전체 */
+    private Integer limit;
+    private String sortBy; // "distance"(기본, 현재 거리순만 지원)
 }
 
@@ -15,6 +15,10 @@ public class PlaceSearchRequest {
     private Double longitude;
     /** 반경 (미터). 예: 5000 = 5km. 미지정/0 이면 5km 사용 */
     private Integer radius = 5000;
-    private String sortBy; // "price_asc", "view_desc"
+    private String sortBy; // "distance"(기본), "price_asc", "view_desc"
+    /** 최대 반환 개수. 미지정/0 이면 반경 내 전체 */
+    private Integer limit;
+    /** 다음 페이지 커서 (이전 응답의 nextCursor). 있으면 limit(미지정 시 20)개씩 이어서 반환 */
+    private String cursor;
 }
 
@@ -0,0 +1,25 @@
+package com.ceseats.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 조회 이벤트 일괄 전송 요청 DTO (POST /api/places/views)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceViewBatchRequest {
+    private List<ViewEvent> views;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ViewEvent {
+        private String placeId;
+        private Long timestamp; // 조회 시각 (Unix ms), 없으면 서버 수신 시각
+    }
+}
@@ -11,7 +11,7 @@ import java.util.List;
  * 정규화된 장소 응답 DTO
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PlaceResponse {
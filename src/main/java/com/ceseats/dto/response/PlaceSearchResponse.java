@@ -15,5 +15,7 @@ import java.util.List;
 public class PlaceSearchResponse {
     private List<PlaceResponse> places;
     private Integer totalCount;
+    /** 다음 페이지 커서. 마지막 페이지거나 페이지 없이 전체 조회한 경우 null */
+    private String nextCursor;
 }
 
@@ -0,0 +1,34 @@
+package com.ceseats.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 지금 뜨는 장소 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingPlaceResponse {
+    private List<TrendingPlace> places;
+    private Integer windowMinutes; // 집계 구간 (최근 N분)
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TrendingPlace {
+        private String id; // place_id
+        private String name;
+        private Double latitude;
+        private Double longitude;
+        private String address;
+        private String type; // "restaurant", "cafe", "fastfood", "bar", "other"
+        private Long recentViewCount; // 최근 windowMinutes 동안의 추정 조회수
+        private Double distanceKm; // 요청 위치가 있을 때만
+    }
+}
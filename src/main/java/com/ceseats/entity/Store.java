@@ -1,18 +1,25 @@
 package com.ceseats.entity;
 
+import com.ceseats.repository.StoreSummary;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
-@Table(name = "stores")
+@Table(name = "stores", indexes = {
+    // 반경 조회의 bounding box 선필터용 (StoreRepository 참고)
+    @Index(name = "idx_stores_lat_lon", columnList = "latitude, longitude")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Store {//google api 호출했을때 json 응답 내에서 값들의 위치
+public class Store implements StoreSummary {//google api 호출했을때 json 응답 내에서 값들의 위치
     @Id
     @Column(name = "place_id", nullable = false, unique = true)
     private String placeId;
@@ -38,6 +45,25 @@ public class Store {//google api 호출했을때 json 응답 내에서 값들의
     @Column(name = "review", columnDefinition = "TEXT")
     private String review; //reviewSummary > text > text
 
+    // Google types (Redis types:<placeId>와 같은 값). PostgreSQL에서는 GIN 인덱스로 types && 조건 조회
+    // 기존 행은 StoreTypesBackfill이 시작 시 Redis에서 채움
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "types")
+    private List<String> types;
+
+    // types로부터 저장 시 한 번 계산하는 분류 (PlaceCategory 참고). 응답 변환 시 types 조회 없이 사용
+    @Column(name = "category", length = 32)
+    private String category;
+
+    @Column(name = "display_type", length = 64)
+    private String displayType;
+
+    @Column(name = "type_mask")
+    private Long typeMask;
+
+    // store.spatial.backend=postgis 인 경우 stores.geog(geography) 컬럼이 latitude/longitude로부터
+    // generated column으로 유지됨 (엔티티에는 매핑하지 않음, StoreSchemaInitializer 참고)
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
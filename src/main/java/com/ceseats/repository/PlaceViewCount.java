@@ -0,0 +1,10 @@
+package com.ceseats.repository;
+
+/**
+ * 조회수 upsert 결과 (place_id, 반영 후 view_count)
+ */
+public interface PlaceViewCount {
+    String getPlaceId();
+
+    Long getViewCount();
+}
@@ -2,12 +2,73 @@ package com.ceseats.repository;
 
 import com.ceseats.entity.PlaceView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PlaceViewRepository extends JpaRepository<PlaceView, Long> {
     Optional<PlaceView> findByPlaceId(String placeId);
-}
 
+    List<PlaceView> findByPlaceIdIn(Collection<String> placeIds);
+
+    /*
+     * 조회수 증가 upsert (PostgreSQL 전용)
+     * 엔티티 조회/dirty checking/duplicate key 재시도 없이 문장 하나로 처리
+     * - 행이 없으면 INSERT (10분 전 조회수 0 → 증가량 = 증가분)
+     * - 있으면 view_count = view_count + 증가분 (행 잠금은 이 문장 동안만)
+     * RETURNING 결과를 받아야 하므로 @Modifying이 아닌 조회로 실행하고, 쓰기 트랜잭션을 명시
+     */
+
+    /**
+     * 한 장소의 조회수를 n 증가
+     * @return 반영 후 조회수
+     */
+    @Transactional
+    @Query(value = """
+        INSERT INTO place_views (place_id, view_count, last10min_view_count, created_at, updated_at, last10min_snapshot_at)
+        VALUES (:placeId, :n, 0, now(), now(), now())
+        ON CONFLICT (place_id) DO UPDATE
+        SET view_count = place_views.view_count + EXCLUDED.view_count, updated_at = now()
+        RETURNING view_count
+        """, nativeQuery = true)
+    Long incrementViewCount(@Param("placeId") String placeId, @Param("n") long n);
+
+    /**
+     * 여러 장소의 조회수를 한 문장으로 증가
+     * 같은 place_id가 두 번 나오면 ON CONFLICT가 실패하므로 place_id는 중복 없이 전달 (ViewCountDeltas)
+     * @param placeIds place_id 배열 (text[]로 바인딩, 구분자 파싱 없음)
+     * @param counts placeIds와 같은 순서의 증가분
+     * @return place별 반영 후 조회수
+     */
+    @Transactional
+    @Query(value = """
+        INSERT INTO place_views (place_id, view_count, last10min_view_count, created_at, updated_at, last10min_snapshot_at)
+        SELECT t.place_id, t.n, 0, now(), now(), now()
+        FROM unnest(CAST(:placeIds AS text[]), CAST(:counts AS bigint[])) AS t(place_id, n)
+        ON CONFLICT (place_id) DO UPDATE
+        SET view_count = place_views.view_count + EXCLUDED.view_count, updated_at = now()
+        RETURNING place_id AS "placeId", view_count AS "viewCount"
+        """, nativeQuery = true)
+    List<PlaceViewCount> incrementViewCounts(@Param("placeIds") String[] placeIds, @Param("counts") Long[] counts);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM PlaceView p")
+    Long findMaxId();
+
+    /**
+     * 10분 전 조회수 스냅샷 일괄 갱신 (id 범위 (fromId, toId], 엔티티 로딩 없이 UPDATE 한 문장)
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlaceView p SET p.last10MinViewCount = p.viewCount, p.last10MinSnapshotAt = :now "
+            + "WHERE p.id > :fromId AND p.id <= :toId")
+    int update10MinSnapshots(@Param("fromId") long fromId, @Param("toId") long toId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,40 @@
+package com.ceseats.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 인메모리 공간 인덱스(StoreSpatialIndex)에 올리는 stores 컬럼
+ * 위치/이름/주소와 저장 시 계산한 분류만 담음 (review TEXT, types, link 제외)
+ *
+ * getReview()/getTypes()는 항상 null. 응답 변환 전에 StoreGeoService.withContent로 DB 행을 조회하여 교체
+ */
+@Getter
+@AllArgsConstructor
+public class StoreLocation implements StoreSummary {
+    private final String placeId;
+    private final String name;
+    private final Double latitude;
+    private final Double longitude;
+    private final String address;
+    private final String category;
+    private final String displayType;
+    private final Long typeMask;
+
+    public static StoreLocation of(StoreSummary store) {
+        return new StoreLocation(store.getPlaceId(), store.getName(), store.getLatitude(), store.getLongitude(),
+                store.getAddress(), store.getCategory(), store.getDisplayType(), store.getTypeMask());
+    }
+
+    @Override
+    public String getReview() {
+        return null;
+    }
+
+    @Override
+    public List<String> getTypes() {
+        return null;
+    }
+}
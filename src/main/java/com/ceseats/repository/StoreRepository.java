@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,48 @@ import java.util.Optional;
 public interface StoreRepository extends JpaRepository<Store, String> {
     Optional<Store> findByPlaceId(String placeId);
 
+    /**
+     * place_id 목록으로 목록용 컬럼만 조회 (랜덤 추출된 id 로딩용)
+     */
+    List<StoreSummary> findSummariesByPlaceIdIn(Collection<String> placeIds);
+
+    /**
+     * 전체 장소의 위치/분류 (StoreSpatialIndex, RedisGeoStoreIndex 로딩용)
+     * 엔티티를 만들지 않고 review/types/link 컬럼은 읽지 않음
+     */
+    @Query("SELECT new com.ceseats.repository.StoreLocation(s.placeId, s.name, s.latitude, s.longitude, s.address, "
+            + "s.category, s.displayType, s.typeMask) FROM Store s")
+    List<StoreLocation> findAllLocations();
+
+    /**
+     * 전체 place_id (TypeBitmapIndex 로딩용)
+     */
+    @Query("SELECT s.placeId FROM Store s")
+    List<String> findAllPlaceIds();
+
+    /**
+     * types 컬럼 또는 분류(category/displayType/typeMask)가 아직 채워지지 않은 place_id (StoreTypesBackfill용)
+     */
+    @Query("SELECT s.placeId FROM Store s WHERE s.types IS NULL OR s.typeMask IS NULL")
+    List<String> findPlaceIdsWithoutTypes();
+
+    /**
+     * 분류가 아직 채워지지 않은 place_id (types 컬럼을 쓰지 않는 DB용)
+     */
+    @Query("SELECT s.placeId FROM Store s WHERE s.typeMask IS NULL")
+    List<String> findPlaceIdsWithoutTypeMask();
+
+    /*
+     * 반경 조회는 모두 StoreSummary projection으로 반환 (목록에 필요한 컬럼만, 엔티티 관리 없음)
+     *
+     * 공통 구조
+     * 1) 위도/경도 bounding box로 후보를 먼저 좁힘 (idx_stores_lat_lon 인덱스 사용)
+     *    - 위도 1도 ≈ 111.045km, 경도 1도 ≈ 111.045km * cos(위도)
+     * 2) 후보에 대해서만 거리를 한 번 계산 (서브쿼리의 distance 컬럼)
+     * 3) 바깥 쿼리에서 distance로 반경 필터 + 정렬
+     * acos 입력은 부동소수 오차로 1을 넘을 수 있어 LEAST(1.0, ...)로 보정
+     */
+
     /**
      * 원형 거리 내의 장소들을 조회 (Haversine 공식 사용)
      * @param latitude 사용자 위도
@@ -21,66 +64,96 @@ public interface StoreRepository extends JpaRepository<Store, String> {
      * @return 반경 내의 장소 리스트
      */
     @Query(value = """
-        SELECT * FROM stores
-        WHERE (
-            6371 * acos(
-                cos(radians(:latitude)) * 
-                cos(radians(latitude)) * 
-                cos(radians(longitude) - radians(:longitude)) + 
-                sin(radians(:latitude)) * 
-                sin(radians(latitude))
-            )
-        ) <= :radiusKm
-        ORDER BY (
-            6371 * acos(
-                cos(radians(:latitude)) * 
-                cos(radians(latitude)) * 
-                cos(radians(longitude) - radians(:longitude)) + 
-                sin(radians(:latitude)) * 
-                sin(radians(latitude))
-            )
-        ) ASC
+        SELECT place_id AS "placeId", name, latitude, longitude, address, review, types,
+               category, display_type AS "displayType", type_mask AS "typeMask" FROM (
+            SELECT s.place_id, s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+                   s.category, s.display_type, s.type_mask, (
+                6371 * acos(LEAST(1.0,
+                    cos(radians(:latitude)) *
+                    cos(radians(s.latitude)) *
+                    cos(radians(s.longitude) - radians(:longitude)) +
+                    sin(radians(:latitude)) *
+                    sin(radians(s.latitude))
+                ))
+            ) AS distance
+            FROM stores s
+            WHERE s.latitude BETWEEN :latitude - (:radiusKm / 111.045) AND :latitude + (:radiusKm / 111.045)
+            AND s.longitude BETWEEN :longitude - (:radiusKm / (111.045 * cos(radians(:latitude))))
+                                AND :longitude + (:radiusKm / (111.045 * cos(radians(:latitude))))
+        ) AS candidates
+        WHERE distance <= :radiusKm
+        ORDER BY distance ASC
         """, nativeQuery = true)
-    List<Store> findStoresWithinRadius(
+    List<StoreSummary> findStoresWithinRadius(
         @Param("latitude") double latitude,
         @Param("longitude") double longitude,
         @Param("radiusKm") double radiusKm
     );
 
     /**
-     * 원형 거리 내의 장소들을 랜덤으로 3개만 조회 (Haversine 공식 사용)
-     * 서브쿼리로 거리 계산 후 랜덤 선택
+     * 원형 거리 내 가장 가까운 limit개 조회 (Haversine 공식 사용)
      * @param latitude 사용자 위도
      * @param longitude 사용자 경도
      * @param radiusKm 반경 (km)
-     * @return 반경 내의 장소 리스트 (랜덤 3개)
+     * @param limit 최대 개수
+     * @return 반경 내의 장소 리스트 (거리순 상위 limit개)
      */
     @Query(value = """
-        SELECT * FROM (
-            SELECT *, (
-                6371 * acos(
-                    cos(radians(:latitude)) * 
-                    cos(radians(latitude)) * 
-                    cos(radians(longitude) - radians(:longitude)) + 
-                    sin(radians(:latitude)) * 
-                    sin(radians(latitude))
-                )
+        SELECT place_id AS "placeId", name, latitude, longitude, address, review, types,
+               category, display_type AS "displayType", type_mask AS "typeMask" FROM (
+            SELECT s.place_id, s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+                   s.category, s.display_type, s.type_mask, (
+                6371 * acos(LEAST(1.0,
+                    cos(radians(:latitude)) *
+                    cos(radians(s.latitude)) *
+                    cos(radians(s.longitude) - radians(:longitude)) +
+                    sin(radians(:latitude)) *
+                    sin(radians(s.latitude))
+                ))
             ) AS distance
-            FROM stores
-            WHERE (
-                6371 * acos(
-                    cos(radians(:latitude)) * 
-                    cos(radians(latitude)) * 
-                    cos(radians(longitude) - radians(:longitude)) + 
-                    sin(radians(:latitude)) * 
-                    sin(radians(latitude))
-                )
-            ) <= :radiusKm
-        ) AS filtered_stores
-        ORDER BY RANDOM()
-        LIMIT 3
+            FROM stores s
+            WHERE s.latitude BETWEEN :latitude - (:radiusKm / 111.045) AND :latitude + (:radiusKm / 111.045)
+            AND s.longitude BETWEEN :longitude - (:radiusKm / (111.045 * cos(radians(:latitude))))
+                                AND :longitude + (:radiusKm / (111.045 * cos(radians(:latitude))))
+        ) AS candidates
+        WHERE distance <= :radiusKm
+        ORDER BY distance ASC
+        LIMIT :limit
         """, nativeQuery = true)
-    List<Store> findRandomStoresWithinRadius(
+    List<StoreSummary> findNearestStoresWithinRadius(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 원형 거리 내의 place_id만 조회 (랜덤 추출 후보용)
+     * 전체 행을 RANDOM()으로 정렬하지 않고 id만 가져와 StoreGeoService에서 reservoir sampling
+     * @param latitude 사용자 위도
+     * @param longitude 사용자 경도
+     * @param radiusKm 반경 (km)
+     * @return 반경 내의 place_id 리스트 (순서 보장 없음)
+     */
+    @Query(value = """
+        SELECT candidates.place_id FROM (
+            SELECT s.place_id, (
+                6371 * acos(LEAST(1.0,
+                    cos(radians(:latitude)) *
+                    cos(radians(s.latitude)) *
+                    cos(radians(s.longitude) - radians(:longitude)) +
+                    sin(radians(:latitude)) *
+                    sin(radians(s.latitude))
+                ))
+            ) AS distance
+            FROM stores s
+            WHERE s.latitude BETWEEN :latitude - (:radiusKm / 111.045) AND :latitude + (:radiusKm / 111.045)
+            AND s.longitude BETWEEN :longitude - (:radiusKm / (111.045 * cos(radians(:latitude))))
+                                AND :longitude + (:radiusKm / (111.045 * cos(radians(:latitude))))
+        ) AS candidates
+        WHERE distance <= :radiusKm
+        """, nativeQuery = true)
+    List<String> findPlaceIdsWithinRadius(
         @Param("latitude") double latitude,
         @Param("longitude") double longitude,
         @Param("radiusKm") double radiusKm
@@ -95,32 +168,164 @@ public interface StoreRepository extends JpaRepository<Store, String> {
      * @return 반경 내의 장소 리스트 (place_id 필터링 적용)
      */
     @Query(value = """
-        SELECT * FROM stores
-        WHERE place_id IN :placeIds
-        AND (
-            6371 * acos(
-                cos(radians(:latitude)) * 
-                cos(radians(latitude)) * 
-                cos(radians(longitude) - radians(:longitude)) + 
-                sin(radians(:latitude)) * 
-                sin(radians(latitude))
-            )
-        ) <= :radiusKm
-        ORDER BY (
-            6371 * acos(
-                cos(radians(:latitude)) * 
-                cos(radians(latitude)) * 
-                cos(radians(longitude) - radians(:longitude)) + 
-                sin(radians(:latitude)) * 
-                sin(radians(latitude))
-            )
-        ) ASC
+        SELECT place_id AS "placeId", name, latitude, longitude, address, review, types,
+               category, display_type AS "displayType", type_mask AS "typeMask" FROM (
+            SELECT s.place_id, s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+                   s.category, s.display_type, s.type_mask, (
+                6371 * acos(LEAST(1.0,
+                    cos(radians(:latitude)) *
+                    cos(radians(s.latitude)) *
+                    cos(radians(s.longitude) - radians(:longitude)) +
+                    sin(radians(:latitude)) *
+                    sin(radians(s.latitude))
+                ))
+            ) AS distance
+            FROM stores s
+            WHERE s.place_id IN :placeIds
+            AND s.latitude BETWEEN :latitude - (:radiusKm / 111.045) AND :latitude + (:radiusKm / 111.045)
+            AND s.longitude BETWEEN :longitude - (:radiusKm / (111.045 * cos(radians(:latitude))))
+                                AND :longitude + (:radiusKm / (111.045 * cos(radians(:latitude))))
+        ) AS candidates
+        WHERE distance <= :radiusKm
+        ORDER BY distance ASC
         """, nativeQuery = true)
-    List<Store> findStoresWithinRadiusAndPlaceIds(
+    List<StoreSummary> findStoresWithinRadiusAndPlaceIds(
         @Param("latitude") double latitude,
         @Param("longitude") double longitude,
         @Param("radiusKm") double radiusKm,
         @Param("placeIds") List<String> placeIds
     );
+
+    /**
+     * 원형 거리 내의 장소 중 types 중 하나 이상을 가진 장소 조회 (Haversine 공식 사용, PostgreSQL 전용)
+     * types && 배열 조건은 GIN 인덱스(idx_stores_types) 사용. place_id 목록 없이 한 번의 쿼리로 처리
+     * @param latitude 사용자 위도
+     * @param longitude 사용자 경도
+     * @param radiusKm 반경 (km)
+     * @param types 쉼표로 연결한 type 목록 (예: "cafe,bakery")
+     * @return 반경 내의 장소 리스트 (거리순)
+     */
+    @Query(value = """
+        SELECT place_id AS "placeId", name, latitude, longitude, address, review, types,
+               category, display_type AS "displayType", type_mask AS "typeMask" FROM (
+            SELECT s.place_id, s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+                   s.category, s.display_type, s.type_mask, (
+                6371 * acos(LEAST(1.0,
+                    cos(radians(:latitude)) *
+                    cos(radians(s.latitude)) *
+                    cos(radians(s.longitude) - radians(:longitude)) +
+                    sin(radians(:latitude)) *
+                    sin(radians(s.latitude))
+                ))
+            ) AS distance
+            FROM stores s
+            WHERE s.types && CAST(string_to_array(:types, ',') AS varchar[])
+            AND s.latitude BETWEEN :latitude - (:radiusKm / 111.045) AND :latitude + (:radiusKm / 111.045)
+            AND s.longitude BETWEEN :longitude - (:radiusKm / (111.045 * cos(radians(:latitude))))
+                                AND :longitude + (:radiusKm / (111.045 * cos(radians(:latitude))))
+        ) AS candidates
+        WHERE distance <= :radiusKm
+        ORDER BY distance ASC
+        """, nativeQuery = true)
+    List<StoreSummary> findStoresWithinRadiusAndTypes(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("types") String types
+    );
+
+    /*
+     * PostGIS 백엔드 (store.spatial.backend=postgis)
+     * geog 컬럼과 GiST 인덱스는 StoreSchemaInitializer가 생성
+     * ST_DWithin은 인덱스로 반경 후보를 찾고, <-> 연산자는 인덱스 기반 최근접 정렬(KNN)
+     */
+
+    /**
+     * 원형 거리 내의 장소들을 조회 (PostGIS)
+     */
+    @Query(value = """
+        SELECT s.place_id AS "placeId", s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+               s.category, s.display_type AS "displayType", s.type_mask AS "typeMask"
+        FROM stores s,
+             (SELECT CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) AS geog) ref
+        WHERE ST_DWithin(s.geog, ref.geog, :radiusKm * 1000.0)
+        ORDER BY s.geog <-> ref.geog
+        """, nativeQuery = true)
+    List<StoreSummary> findStoresWithinRadiusPostgis(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm
+    );
+
+    /**
+     * 원형 거리 내 가장 가까운 limit개 조회 (PostGIS KNN)
+     */
+    @Query(value = """
+        SELECT s.place_id AS "placeId", s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+               s.category, s.display_type AS "displayType", s.type_mask AS "typeMask"
+        FROM stores s,
+             (SELECT CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) AS geog) ref
+        WHERE ST_DWithin(s.geog, ref.geog, :radiusKm * 1000.0)
+        ORDER BY s.geog <-> ref.geog
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<StoreSummary> findNearestStoresPostgis(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 원형 거리 내의 장소들을 조회하고 place_id 리스트로 필터링 (PostGIS)
+     */
+    @Query(value = """
+        SELECT s.place_id AS "placeId", s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+               s.category, s.display_type AS "displayType", s.type_mask AS "typeMask"
+        FROM stores s,
+             (SELECT CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) AS geog) ref
+        WHERE s.place_id IN :placeIds
+        AND ST_DWithin(s.geog, ref.geog, :radiusKm * 1000.0)
+        ORDER BY s.geog <-> ref.geog
+        """, nativeQuery = true)
+    List<StoreSummary> findStoresWithinRadiusAndPlaceIdsPostgis(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("placeIds") List<String> placeIds
+    );
+
+    /**
+     * 원형 거리 내의 장소 중 types 중 하나 이상을 가진 장소 조회 (PostGIS)
+     */
+    @Query(value = """
+        SELECT s.place_id AS "placeId", s.name, s.latitude, s.longitude, s.address, s.review, s.types,
+               s.category, s.display_type AS "displayType", s.type_mask AS "typeMask"
+        FROM stores s,
+             (SELECT CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) AS geog) ref
+        WHERE s.types && CAST(string_to_array(:types, ',') AS varchar[])
+        AND ST_DWithin(s.geog, ref.geog, :radiusKm * 1000.0)
+        ORDER BY s.geog <-> ref.geog
+        """, nativeQuery = true)
+    List<StoreSummary> findStoresWithinRadiusAndTypesPostgis(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm,
+        @Param("types") String types
+    );
+
+    /**
+     * 원형 거리 내의 place_id만 조회 (PostGIS, 랜덤 추출 후보용)
+     */
+    @Query(value = """
+        SELECT s.place_id
+        FROM stores s
+        WHERE ST_DWithin(s.geog, CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :radiusKm * 1000.0)
+        """, nativeQuery = true)
+    List<String> findPlaceIdsWithinRadiusPostgis(
+        @Param("latitude") double latitude,
+        @Param("longitude") double longitude,
+        @Param("radiusKm") double radiusKm
+    );
 }
 
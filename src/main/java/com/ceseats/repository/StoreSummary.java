@@ -0,0 +1,34 @@
+package com.ceseats.repository;
+
+import java.util.List;
+
+/**
+ * 목록/추천 응답에 필요한 stores 컬럼만 담는 projection
+ * (link, created_at 제외, 영속성 컨텍스트에 올라가지 않음)
+ * Store 엔티티도 구현하므로 인메모리 인덱스 결과와 DB 조회 결과를 같은 타입으로 다룸
+ *
+ * native 쿼리에서는 컬럼 별칭을 프로퍼티 이름과 같게 지정 (예: s.place_id AS "placeId")
+ */
+public interface StoreSummary {
+    String getPlaceId();
+
+    String getName();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    String getAddress();
+
+    String getReview();
+
+    // Google types (stores.types, 순서 유지). 인메모리 인덱스 결과(StoreLocation)와 backfill 전 행은 null
+    List<String> getTypes();
+
+    // 저장 시 계산한 분류 (PlaceCategory). 이전 행은 null일 수 있음
+    String getCategory();
+
+    String getDisplayType();
+
+    Long getTypeMask();
+}
@@ -33,6 +33,8 @@ public class ApiLogService {
     
     // 응답 본문 최대 길이 (너무 긴 응답은 잘라서 저장)
     private static final int MAX_RESPONSE_BODY_LENGTH = 5000;
+    // 요청 본문 최대 길이 (조회 이벤트 일괄 전송 등 큰 요청)
+    private static final int MAX_REQUEST_BODY_LENGTH = 5000;
     
     /**
      * 비동기로 API 로그를 저장
@@ -73,7 +75,7 @@ public class ApiLogService {
                     .endpoint(endpoint)
                     .ipAddress(ipAddress)
                     .userAgent(userAgent)
-                    .requestBody(requestBody)
+                    .requestBody(truncateString(requestBody, MAX_REQUEST_BODY_LENGTH))
                     .responseBody(truncatedResponseBody)
                     .statusCode(statusCode)
                     .responseTimeMs(responseTimeMs)
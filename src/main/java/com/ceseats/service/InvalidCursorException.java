@@ -0,0 +1,16 @@
+package com.ceseats.service;
+
+/**
+ * 장소 검색 커서가 잘못된 경우 (형식 오류, 다른 sortBy로 발급된 커서)
+ * 컨트롤러에서 400으로 응답
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
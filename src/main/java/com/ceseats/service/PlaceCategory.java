@@ -0,0 +1,105 @@
+package com.ceseats.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Google types → 표시용 분류 (장소 저장 시 한 번 계산하여 Store에 저장)
+ *
+ * - category: 추천/RAG 응답의 type (restaurant, cafe, fastfood, bar, other)
+ * - displayType: 장소 검색 응답의 type (fastfood 또는 지원하는 Google type 그대로, 없으면 other)
+ * - typeMask: 분류에 쓰는 Google type별 비트 (TYPE_BITS 순서, 새 type은 맨 뒤에만 추가)
+ *
+ * 저장된 값이 없는 이전 행은 types로 그 자리에서 계산 (StoreTypesBackfill이 시작 시 채움)
+ */
+public final class PlaceCategory {
+
+    public static final String RESTAURANT = "restaurant";
+    public static final String CAFE = "cafe";
+    public static final String FASTFOOD = "fastfood";
+    public static final String BAR = "bar";
+    public static final String OTHER = "other";
+
+    // 비트 위치 = 인덱스. 저장된 typeMask와 호환되도록 순서를 바꾸지 않음
+    private static final List<String> TYPE_BITS = List.of(
+            "restaurant", "cafe", "coffee_shop", "fast_food_restaurant", "meal_takeaway", "fast_food",
+            "bar", "night_club", "food", "bakery", "meal_delivery", "liquor_store",
+            "store", "shopping_mall", "supermarket", "convenience_store");
+
+    // 장소 검색 응답에서 그대로 노출하는 Google type (우선순위 순)
+    private static final List<String> DISPLAY_TYPES = List.of(
+            "restaurant", "cafe", "bar", "food", "bakery", "meal_delivery",
+            "night_club", "liquor_store", "store", "shopping_mall", "supermarket", "convenience_store");
+
+    private static final Map<String, Long> BIT_BY_TYPE = new HashMap<>();
+
+    static {
+        for (int i = 0; i < TYPE_BITS.size(); i++) {
+            BIT_BY_TYPE.put(TYPE_BITS.get(i), 1L << i);
+        }
+    }
+
+    private static final long RESTAURANT_MASK = bits("restaurant");
+    private static final long CAFE_MASK = bits("cafe", "coffee_shop");
+    private static final long FASTFOOD_MASK = bits("fast_food_restaurant", "meal_takeaway", "fast_food");
+    private static final long BAR_MASK = bits("bar", "night_club");
+    private static final long DISPLAY_FASTFOOD_MASK = bits("meal_takeaway", "fast_food");
+
+    private PlaceCategory() {
+    }
+
+    public static long typeMask(List<String> types) {
+        long mask = 0L;
+        if (types != null) {
+            for (String type : types) {
+                Long bit = BIT_BY_TYPE.get(type);
+                if (bit != null) {
+                    mask |= bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static String categoryOf(long typeMask) {
+        if ((typeMask & RESTAURANT_MASK) != 0) return RESTAURANT;
+        if ((typeMask & CAFE_MASK) != 0) return CAFE;
+        if ((typeMask & FASTFOOD_MASK) != 0) return FASTFOOD;
+        if ((typeMask & BAR_MASK) != 0) return BAR;
+        return OTHER;
+    }
+
+    public static String categoryOf(List<String> types) {
+        return categoryOf(typeMask(types));
+    }
+
+    /**
+     * 장소 검색 응답 type. meal_takeaway/fast_food는 fastfood, 그 외에는 types 순서상 처음 나오는 지원 type
+     */
+    public static String displayTypeOf(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return OTHER;
+        }
+        if ((typeMask(types) & DISPLAY_FASTFOOD_MASK) != 0) {
+            return FASTFOOD;
+        }
+        for (String type : types) {
+            if (DISPLAY_TYPES.contains(type)) {
+                return type;
+            }
+        }
+        return OTHER;
+    }
+
+    /**
+     * 저장된 category가 있으면 사용, 없으면 types로 계산
+     */
+    public static String categoryOf(String storedCategory, List<String> types) {
+        return storedCategory != null ? storedCategory : categoryOf(types);
+    }
+
+    private static long bits(String... types) {
+        return typeMask(List.of(types));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ceseats.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * 장소 검색 keyset 페이지네이션 커서
+ * 마지막으로 반환한 장소의 정렬 키(sortKey, 거리, placeId)를 담은 불투명 문자열
+ *
+ * 정렬 순서: sortKey 오름차순 → 거리 오름차순 → placeId 오름차순
+ * - distance: sortKey = 거리(km)
+ * - view_desc: sortKey = -인기 순위 키 (ViewTrendTracker.rankKeys, 조회가 없으면 Infinity) 또는 -누적 조회수
+ * - price_asc: sortKey = 가격 수준
+ */
+public record PlaceSearchCursor(String sortBy, double sortKey, double distanceKm, String placeId) {
+
+    public static final Comparator<PlaceSearchCursor> ORDER = Comparator
+            .comparingDouble(PlaceSearchCursor::sortKey)
+            .thenComparingDouble(PlaceSearchCursor::distanceKm)
+            .thenComparing(PlaceSearchCursor::placeId);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 이 커서보다 뒤에 오는 키인지
+     */
+    public boolean isBefore(PlaceSearchCursor other) {
+        return ORDER.compare(this, other) < 0;
+    }
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + sortKey + SEPARATOR + distanceKm + SEPARATOR + placeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return cursor가 비어 있으면 null
+     * @throws InvalidCursorException 형식이 잘못된 커서
+     */
+    public static PlaceSearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // placeId가 마지막이므로 최대 4개로 분리
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new InvalidCursorException("invalid cursor");
+            }
+            return new PlaceSearchCursor(parts[0], Double.parseDouble(parts[1]), Double.parseDouble(parts[2]), parts[3]);
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            // Base64/숫자 형식 오류
+            throw new InvalidCursorException("invalid cursor: " + cursor, e);
+        }
+    }
+}
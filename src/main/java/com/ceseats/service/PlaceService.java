@@ -1,33 +1,55 @@
 package com.ceseats.service;
 
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import com.ceseats.config.redis.util.RedisOperator;
 import com.ceseats.dto.request.PlaceDataRequest;
+import com.ceseats.dto.request.PlaceViewBatchRequest;
 import com.ceseats.dto.request.PlaceSearchRequest;
 import com.ceseats.dto.response.PlaceResponse;
 import com.ceseats.dto.response.PlaceSearchResponse;
+import com.ceseats.dto.response.TrendingPlaceResponse;
 import com.ceseats.entity.PlaceView;
 import com.ceseats.entity.Store;
+import com.ceseats.repository.PlaceViewCount;
 import com.ceseats.repository.PlaceViewRepository;
 import com.ceseats.repository.StoreRepository;
+import com.ceseats.repository.StoreSummary;
 import com.ceseats.service.cache.CacheService;
+import com.ceseats.service.cache.GeoResponseCache;
+import com.ceseats.service.geo.BoundedTopK;
+import com.ceseats.service.geo.GeoUtils;
+import com.ceseats.service.geo.StoreGeoService;
+import com.ceseats.service.geo.StoreSpatialIndex;
+import com.ceseats.service.geo.TypeBitmapIndex;
 import com.ceseats.service.google.GooglePlacesClient;
 import com.ceseats.service.google.PlaceDetails;
+import com.ceseats.service.view.ViewCountBuffer;
+import com.ceseats.service.view.ViewCountDeltas;
+import com.ceseats.service.view.TrendingPlaceTracker;
+import com.ceseats.service.view.ViewTrendTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -55,6 +77,47 @@ public class PlaceService {
 
     @Autowired
     private ReviewService reviewService;
+
+    @Autowired
+    private StoreGeoService storeGeoService;
+
+    @Autowired
+    private GeoResponseCache geoResponseCache;
+
+    @Autowired
+    private TypeBitmapIndex typeBitmapIndex;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private ViewTrendTracker viewTrendTracker;
+
+    @Autowired
+    private TrendingPlaceTracker trendingPlaceTracker;
+
+    @Autowired
+    private StoreSpatialIndex storeSpatialIndex;
+
+    @Autowired
+    private RedisOperator redisOperator;
+
+    @Autowired
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    // 10분 스냅샷 UPDATE 한 번에 처리하는 id 범위 (0이면 한 문장으로 전체)
+    @Value("${view.snapshot.batch-size:10000}")
+    private long snapshotBatchSize;
+
+    // 조회 이벤트 시각 허용 범위: 이보다 오래된 시각은 이 시각으로 보정, 이보다 먼 미래 시각의 이벤트는 버림 (클라이언트 시계 신뢰 안 함)
+    @Value("${view.batch.max-event-age-ms:600000}")
+    private long maxViewEventAgeMs;
+
+    @Value("${view.batch.max-future-skew-ms:60000}")
+    private long maxViewEventFutureSkewMs;
+
+    // 스냅샷 잠금 값 (어느 인스턴스가 잡았는지 확인용, pid@hostname)
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
     
     // 병렬 처리를 위한 스레드 풀 (최대 10개 동시 요청)
     private final ExecutorService executorService = Executors.newFixedThreadPool(10);
@@ -62,163 +125,571 @@ public class PlaceService {
     private static final double EARTH_RADIUS_KM = 6371.0;
     private static final double WALKING_SPEED_KMH = 5.0; //도보 속도 5km/h
 
+    private static final String SORT_DISTANCE = "distance";
+    private static final String SORT_PRICE_ASC = "price_asc";
+    private static final String SORT_VIEW_DESC = "view_desc";
+    // Store에 가격 정보가 없을 때 사용하는 기본 가격 레벨 (convertStoreToPlaceDetails와 동일)
+    private static final int DEFAULT_PRICE_LEVEL = 2;
+    // cursor만 있고 limit이 없을 때의 페이지 크기
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    // 스트리밍 시 동시에 변환하는 최대 장소 수
+    private static final int STREAM_WINDOW = 16;
+    // PlaceView IN 조회 한 번에 넣는 최대 placeId 수
+    private static final int PLACE_VIEW_BATCH_SIZE = 1000;
+    // 10분 스냅샷 주기와 인스턴스 간 잠금 (잠금은 주기보다 짧게 유지하고 해제하지 않음 → 주기당 한 인스턴스만 실행)
+    private static final long SNAPSHOT_INTERVAL_MS = 600_000L;
+    private static final String SNAPSHOT_LOCK_KEY = "lock:place-views:10min-snapshot";
+    private static final Duration SNAPSHOT_LOCK_TTL = Duration.ofMillis(SNAPSHOT_INTERVAL_MS - 30_000L);
+
     /**
      * 장소 검색
      * Google API 호출 최소화: DB에서 먼저 조회, 없을 때만 API 호출
+     * limit 또는 cursor가 있으면 keyset 페이지 단위로 반환하고 다음 페이지 커서(nextCursor)를 함께 반환
      */
     public PlaceSearchResponse searchPlaces(PlaceSearchRequest request, double userLatitude, double userLongitude) {
-        
-        // 반경: 미터 단위. 미지정/0 이면 5000(5km) 사용
-        int radiusMeters = (request.getRadius() != null && request.getRadius() > 0)
-                ? request.getRadius() : 5000;
-        double radiusKm = radiusMeters / 1000.0;
+        // 첫 페이지의 거리/가격순 요청은 위치 기반 캐시 사용 (view_desc는 정렬 키가 계속 바뀌어 캐시하지 않음)
+        boolean cacheable = geoResponseCache.isEnabled()
+                && (request.getCursor() == null || request.getCursor().isBlank())
+                && !SORT_VIEW_DESC.equals(resolveSortBy(request));
+        if (cacheable) {
+            return searchPlacesCached(request, userLatitude, userLongitude);
+        }
 
-        // 1. DB에서 요청 반경 내 장소만 조회
-        List<Store> storesInRadius = storeRepository.findStoresWithinRadius(
-                request.getLatitude(),
-                request.getLongitude(),
-                radiusKm
-        );
-        
+        SearchSelection selection = selectStores(request);
+        // 인덱스 결과의 review/types는 PK 조회 한 번으로 DB 행에서 채움 (types가 아직 없는 행만 Redis 조회)
+        List<StoreSummary> stores = storeGeoService.withContent(selection.stores());
+        Map<String, List<String>> typesByPlaceId = reviewService.typesOf(stores);
 
         //2. DB에 있는 장소들을 PlaceResponse로 변환
         List<CompletableFuture<PlaceResponse>> futures = new ArrayList<>();
-        Set<String> foundPlaceIds = new HashSet<>();
-        
-        for (Store store : storesInRadius) {
-            foundPlaceIds.add(store.getPlaceId());
-            CompletableFuture<PlaceResponse> future = CompletableFuture.supplyAsync(() -> {
-                try {
-                    //reviews와 types를 Redis에서 가져와서 설정함
-                    PlaceDetails details = convertStoreToPlaceDetails(store);
-
-                    //도보 시간 계산
-                    int walkTimeMinutes = calculateWalkTime(
-                            userLatitude,
-                            userLongitude,
-                            details.getLatitude(),
-                            details.getLongitude()
-                    );
-
-                    //조회수 및 증가량 가져오기
-                    Long viewCount = getViewCount(store.getPlaceId());
-                    Long viewCountIncrease = get10MinIncrease(store.getPlaceId());
-
-                    return convertToPlaceResponse(details, walkTimeMinutes, viewCount, viewCountIncrease);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    return null;
-                }
-            }, executorService);
-            futures.add(future);
+        for (StoreSummary store : stores) {
+            futures.add(convertStoreAsync(store, userLatitude, userLongitude, selection.viewStats(), typesByPlaceId));
         }
 
         // 3. Google API 호출 최소화: DB에 있는 장소만 사용
         // 필요시 DB에 장소가 너무 적을 때만 Google API로 보완하는 로직 추가 가능
 
-        // 모든 비동기 작업 완료 대기 및 결과 수집
+        // 모든 비동기 작업 완료 대기 및 결과 수집 (selectStores에서 정한 순서 유지)
         List<PlaceResponse> places = futures.stream()
                 .map(CompletableFuture::join)
                 .filter(place -> place != null)
                 .collect(Collectors.toList());
 
+        return new PlaceSearchResponse(places, places.size(), selection.nextCursor());
+    }
+
+    /**
+     * 캐시를 거치는 첫 페이지 검색
+     * 캐시에는 같은 키의 모든 요청 결과를 포함하는 후보(변환된 PlaceResponse)를 두고,
+     * 요청마다 실제 좌표/반경으로 거른 뒤 selectStores와 같은 순서(PlaceSearchCursor.ORDER)로 페이지를 자름
+     */
+    private PlaceSearchResponse searchPlacesCached(PlaceSearchRequest request, double userLatitude, double userLongitude) {
+        double latitude = request.getLatitude();
+        double longitude = request.getLongitude();
+        int radiusMeters = resolveRadiusMeters(request);
+        String sortBy = resolveSortBy(request);
+        Integer limit = resolveLimit(request);
+
+        List<PlaceResponse> candidates = geoResponseCache.getPlaceSearch(latitude, longitude, radiusMeters, sortBy, limit);
+        if (candidates == null) {
+            // 다음 페이지 존재 여부 확인용 1개 포함
+            GeoResponseCache.Cover cover = geoResponseCache.coverOf(latitude, longitude, radiusMeters);
+            List<StoreSummary> stores = storeGeoService.withContent(cover.candidatesFor(
+                    storeGeoService.findStoresWithinRadius(cover.latitude(), cover.longitude(), cover.radiusKm()),
+                    store -> cover.distanceKm(store.getLatitude(), store.getLongitude()),
+                    limit != null ? limit + 1 : null));
+            Map<String, List<String>> typesByPlaceId = reviewService.typesOf(stores);
+            // 조회수/도보 시간은 withLiveFields에서 요청마다 채우므로 변환 시에는 조회하지 않음
+            ViewStats noViewStats = new ViewStats(Map.of(), null);
+            List<CompletableFuture<PlaceResponse>> futures = new ArrayList<>();
+            for (StoreSummary store : stores) {
+                futures.add(convertStoreAsync(store, userLatitude, userLongitude, noViewStats, typesByPlaceId));
+            }
+            candidates = futures.stream()
+                    .map(CompletableFuture::join)
+                    .filter(place -> place != null)
+                    .collect(Collectors.toList());
+            geoResponseCache.putPlaceSearch(latitude, longitude, radiusMeters, sortBy, limit, candidates);
+        }
+
+        double radiusKm = radiusMeters / 1000.0;
+        List<KeyedPlace> keyed = new ArrayList<>();
+        for (PlaceResponse place : candidates) {
+            if (place.getLatitude() == null || place.getLongitude() == null) continue;
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, place.getLatitude(), place.getLongitude());
+            if (distanceKm <= radiusKm) {
+                double sortKey = SORT_PRICE_ASC.equals(sortBy) ? DEFAULT_PRICE_LEVEL : distanceKm;
+                keyed.add(new KeyedPlace(place, new PlaceSearchCursor(sortBy, sortKey, distanceKm, place.getId())));
+            }
+        }
+        keyed.sort(Comparator.comparing(KeyedPlace::key, PlaceSearchCursor.ORDER));
+
+        String nextCursor = null;
+        if (limit != null && keyed.size() > limit) {
+            keyed = keyed.subList(0, limit);
+            nextCursor = keyed.get(limit - 1).key().encode();
+        }
+        List<PlaceResponse> places = keyed.stream().map(KeyedPlace::place).collect(Collectors.toList());
+        return withLiveFields(new PlaceSearchResponse(places, places.size(), nextCursor), userLatitude, userLongitude);
+    }
 
-        // 5. 정렬
-        if ("price_asc".equals(request.getSortBy())) {
-            places.sort(Comparator.comparing(PlaceResponse::getPriceLevel));
-        } else if ("view_desc".equals(request.getSortBy())) {
-            places.sort(Comparator.comparing(PlaceResponse::getViewCount, Comparator.reverseOrder()));
+    /**
+     * 캐시된 응답을 복사하면서 조회수/10분 증가량/도보 시간만 현재 값으로 교체
+     * (캐시된 객체는 수정하지 않음)
+     */
+    private PlaceSearchResponse withLiveFields(PlaceSearchResponse cached, double userLatitude, double userLongitude) {
+        if (cached.getPlaces().isEmpty()) {
+            return new PlaceSearchResponse(new ArrayList<>(), 0, cached.getNextCursor());
+        }
+        List<String> placeIds = cached.getPlaces().stream().map(PlaceResponse::getId).collect(Collectors.toList());
+        ViewStats viewStats = loadViewStats(placeIds);
+
+        List<PlaceResponse> places = new ArrayList<>(cached.getPlaces().size());
+        for (PlaceResponse place : cached.getPlaces()) {
+            PlaceResponse.PlaceResponseBuilder builder = place.toBuilder()
+                    .viewCount(viewCountOf(place.getId(), viewStats))
+                    .viewCountIncrease(tenMinIncreaseOf(place.getId(), viewStats));
+            if (place.getLatitude() != null && place.getLongitude() != null) {
+                builder.walkTimeMinutes(calculateWalkTime(userLatitude, userLongitude, place.getLatitude(), place.getLongitude()));
+            }
+            places.add(builder.build());
         }
+        return new PlaceSearchResponse(places, places.size(), cached.getNextCursor());
+    }
+
+    // 반경: 미터 단위. 미지정/0 이면 5000(5km) 사용
+    private int resolveRadiusMeters(PlaceSearchRequest request) {
+        return (request.getRadius() != null && request.getRadius() > 0)
+                ? request.getRadius() : 5000;
+    }
+
+    private String resolveSortBy(PlaceSearchRequest request) {
+        return SORT_VIEW_DESC.equals(request.getSortBy()) || SORT_PRICE_ASC.equals(request.getSortBy())
+                ? request.getSortBy() : SORT_DISTANCE;
+    }
 
-        return new PlaceSearchResponse(places, places.size());
+    private Integer resolveLimit(PlaceSearchRequest request) {
+        return request.getLimit() != null && request.getLimit() > 0 ? request.getLimit() : null;
+    }
+
+    /**
+     * 장소 검색 스트리밍
+     * 변환이 끝나는 대로 정렬 순서대로 sink에 전달하여, 전체 목록을 모으지 않고 응답을 바로 쓸 수 있게 함
+     * 동시에 변환 중인 장소는 STREAM_WINDOW개로 제한
+     */
+    public void streamSearchPlaces(PlaceSearchRequest request, double userLatitude, double userLongitude,
+                                   Consumer<PlaceResponse> sink) {
+        SearchSelection selection = selectStores(request);
+        List<StoreSummary> stores = storeGeoService.withContent(selection.stores());
+        Map<String, List<String>> typesByPlaceId = reviewService.typesOf(stores);
+
+        Deque<CompletableFuture<PlaceResponse>> window = new ArrayDeque<>();
+        for (StoreSummary store : stores) {
+            window.add(convertStoreAsync(store, userLatitude, userLongitude, selection.viewStats(), typesByPlaceId));
+            if (window.size() >= STREAM_WINDOW) {
+                emit(window.poll().join(), sink);
+            }
+        }
+        while (!window.isEmpty()) {
+            emit(window.poll().join(), sink);
+        }
+    }
+
+    private void emit(PlaceResponse place, Consumer<PlaceResponse> sink) {
+        if (place != null) {
+            sink.accept(place);
+        }
+    }
+
+    /**
+     * 검색 대상 장소 선택 및 정렬
+     * 정렬 순서는 PlaceSearchCursor.ORDER (정렬 키 → 거리 → placeId)
+     */
+    private SearchSelection selectStores(PlaceSearchRequest request) {
+        double radiusKm = resolveRadiusMeters(request) / 1000.0;
+        double latitude = request.getLatitude();
+        double longitude = request.getLongitude();
+
+        String sortBy = resolveSortBy(request);
+        boolean sortByView = SORT_VIEW_DESC.equals(sortBy);
+
+        PlaceSearchCursor cursor = PlaceSearchCursor.decode(request.getCursor());
+        if (cursor != null && !sortBy.equals(cursor.sortBy())) {
+            throw new InvalidCursorException("cursor was issued for sortBy=" + cursor.sortBy());
+        }
+        Integer limit = resolveLimit(request) != null ? resolveLimit(request)
+                : (cursor != null ? DEFAULT_PAGE_SIZE : null);
+
+        // 1. 요청 반경 내 장소만 조회 (인메모리 공간 인덱스, 미준비 시 DB)
+        // 첫 페이지 + 거리 기준이면 가까운 limit+1개만 조회 (다음 페이지 존재 여부 확인용 1개)
+        // (Store에는 가격 정보가 없어 모든 장소가 같은 가격 수준이므로 price_asc도 거리순과 같음)
+        List<StoreSummary> candidates = (limit != null && !sortByView && cursor == null)
+                ? storeGeoService.findNearestStores(latitude, longitude, radiusKm, limit + 1)
+                : storeGeoService.findStoresWithinRadius(latitude, longitude, radiusKm);
+
+        // view_desc 정렬 키를 후보 전체에 대해 한 번에 조회
+        // trend 사용 시 인기 순위 키 (PostgreSQL 조회 없음, 시간이 지나도 변하지 않아 커서에 저장 가능), 아니면 누적 조회수
+        Map<String, Double> viewScores = sortByView ? loadViewScores(placeIdsOf(candidates)) : null;
+
+        // 페이지 없이 전체 반환: 거리순 (view_desc면 조회수순, 동률이면 거리순)
+        if (limit == null) {
+            if (sortByView) {
+                List<StoreSummary> sorted = new ArrayList<>(candidates);
+                sorted.sort(Comparator.comparing((StoreSummary store) -> viewScores.get(store.getPlaceId()), Comparator.reverseOrder()));
+                return new SearchSelection(sorted, loadViewStats(placeIdsOf(sorted)), null);
+            }
+            return new SearchSelection(candidates, loadViewStats(placeIdsOf(candidates)), null);
+        }
+
+        // 커서 이후 키 중 상위 limit+1개만 힙으로 선택
+        BoundedTopK<KeyedStore> page = new BoundedTopK<>(limit + 1,
+                Comparator.comparing(KeyedStore::key, PlaceSearchCursor.ORDER));
+        for (StoreSummary store : candidates) {
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, store.getLatitude(), store.getLongitude());
+            double sortKey = sortByView ? -viewScores.get(store.getPlaceId())
+                    : SORT_PRICE_ASC.equals(sortBy) ? DEFAULT_PRICE_LEVEL : distanceKm;
+            PlaceSearchCursor key = new PlaceSearchCursor(sortBy, sortKey, distanceKm, store.getPlaceId());
+            if (cursor == null || cursor.isBefore(key)) {
+                page.accept(new KeyedStore(store, key));
+            }
+        }
+
+        List<KeyedStore> selected = page.getResult();
+        String nextCursor = null;
+        if (selected.size() > limit) {
+            selected = selected.subList(0, limit);
+            nextCursor = selected.get(limit - 1).key().encode();
+        }
+        List<StoreSummary> stores = selected.stream().map(KeyedStore::store).collect(Collectors.toList());
+        return new SearchSelection(stores, loadViewStats(placeIdsOf(stores)), nextCursor);
+    }
+
+    /**
+     * Store → PlaceResponse 비동기 변환
+     * @param viewStats 결과 장소의 조회수/최근 조회수 (selectStores에서 한 번에 조회)
+     * @param typesByPlaceId DB 행의 types (없는 행만 Redis에서 조회, ReviewService.typesOf)
+     */
+    private CompletableFuture<PlaceResponse> convertStoreAsync(StoreSummary store, double userLatitude, double userLongitude,
+                                                               ViewStats viewStats,
+                                                               Map<String, List<String>> typesByPlaceId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                //reviews와 types를 Redis에서 가져와서 설정함
+                PlaceDetails details = convertStoreToPlaceDetails(store, typesByPlaceId.get(store.getPlaceId()));
+
+                //도보 시간 계산
+                int walkTimeMinutes = calculateWalkTime(
+                        userLatitude,
+                        userLongitude,
+                        details.getLatitude(),
+                        details.getLongitude()
+                );
+
+                //조회수 및 증가량 가져오기
+                Long viewCount = viewCountOf(store.getPlaceId(), viewStats);
+                Long viewCountIncrease = tenMinIncreaseOf(store.getPlaceId(), viewStats);
+
+                return convertToPlaceResponse(details, walkTimeMinutes, viewCount, viewCountIncrease);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return null;
+            }
+        }, executorService);
+    }
+
+    private static List<String> placeIdsOf(List<? extends StoreSummary> stores) {
+        return stores.stream().map(StoreSummary::getPlaceId).collect(Collectors.toList());
+    }
+
+    private record SearchSelection(List<StoreSummary> stores, ViewStats viewStats, String nextCursor) {
+    }
+
+    /**
+     * @param placeViews DB 조회수
+     * @param recentViews ViewTrendTracker의 최근 window 조회수 (trend 미사용 시 null → 스냅샷 기반 증가량)
+     */
+    private record ViewStats(Map<String, PlaceView> placeViews, Map<String, Long> recentViews) {
+    }
+
+    private record KeyedStore(StoreSummary store, PlaceSearchCursor key) {
+    }
+
+    private record KeyedPlace(PlaceResponse place, PlaceSearchCursor key) {
     }
 
     /**
      * 장소 조회수 증가 (카드 클릭 시)
-     * 동시 요청 시 duplicate key 가능하므로, INSERT 실패하면 재조회 후 UPDATE로 재시도
+     * buffered 모드면 ViewCountBuffer에 누적만 하고 즉시 반환 (DB 반영은 주기적 batch upsert)
      * @return 업데이트된 조회수
+     * @throws IllegalArgumentException place_id 형식이 아니거나 저장되지 않은 장소
      */
-    @Transactional
     public Long incrementViewCount(String placeId) {
-        Optional<PlaceView> placeViewOpt = placeViewRepository.findByPlaceId(placeId);
+        if (!isKnownPlace(placeId)) {
+            throw new IllegalArgumentException("unknown placeId");
+        }
+        viewTrendTracker.record(placeId);
+        trendingPlaceTracker.record(placeId);
+        if (viewCountBuffer.isEnabled()) {
+            return viewCountBuffer.increment(placeId);
+        }
+        return incrementViewCountDirect(placeId);
+    }
 
-        PlaceView placeView;
-        if (placeViewOpt.isPresent()) {
-            placeView = placeViewOpt.get();
-            placeView.incrementViewCount();
-        } else {
-            placeView = new PlaceView();
-            placeView.setPlaceId(placeId);
-            placeView.setViewCount(1L);
-            placeView.setLast10MinViewCount(0L);
-            placeView.update10MinSnapshot();
+    /**
+     * 조회 이벤트 일괄 반영 (카드 여러 개 표시 시)
+     * 한 batch 안에서 place당 한 번만 반영 (같은 place가 여러 번 오면 마지막 시각 하나로 처리)
+     * 저장되지 않은 장소는 조회수/추이/인기 집계 모두에서 무시 (임의 place_id로 인기 sketch가 밀려나지 않도록)
+     * 조회수는 buffered: 버퍼 누적, direct: upsert 한 문장. 추이/인기 집계에는 이벤트 시각 기준으로 반영
+     * 이벤트 시각은 클라이언트 값이므로 max-event-age-ms보다 오래되면 그 시각으로 보정하고,
+     * max-future-skew-ms보다 먼 미래면 이벤트를 버림 (오래된/미래 시각으로 추이·인기 점수를 조작하지 못하도록)
+     * @return place별 업데이트된 조회수
+     */
+    public Map<String, Long> recordViews(List<PlaceViewBatchRequest.ViewEvent> events) {
+        long now = System.currentTimeMillis();
+        long oldest = now - maxViewEventAgeMs;
+        long latest = now + maxViewEventFutureSkewMs;
+        Map<String, Long> timestamps = new HashMap<>();
+        int rejected = 0;
+        for (PlaceViewBatchRequest.ViewEvent event : events) {
+            if (event == null || !ViewCountBuffer.isValidPlaceId(event.getPlaceId())) {
+                continue;
+            }
+            long timestamp = event.getTimestamp() != null ? event.getTimestamp() : now;
+            if (timestamp > latest) {
+                rejected++;
+                continue;
+            }
+            timestamps.merge(event.getPlaceId(), Math.min(Math.max(timestamp, oldest), now), Math::max);
+        }
+        if (rejected > 0) {
+            log.debug("[PlaceService] recordViews - dropped {} events with future timestamps", rejected);
         }
 
-        try {
-            placeViewRepository.save(placeView);
-        } catch (DataIntegrityViolationException e) {
-            // 동시 요청으로 이미 같은 place_id가 INSERT된 경우: 재조회 후 증가
-            if (e.getMessage() != null && e.getMessage().contains("place_views_place_id_key")) {
-                placeViewOpt = placeViewRepository.findByPlaceId(placeId);
-                if (placeViewOpt.isPresent()) {
-                    placeView = placeViewOpt.get();
-                    placeView.incrementViewCount();
-                    placeViewRepository.save(placeView);
-                    return placeView.getViewCount();
-                }
-                throw new IllegalStateException("place_views duplicate key but row not found for placeId: " + placeId, e);
+        // place_id 순서 (direct upsert의 행 잠금 순서 고정)
+        ViewCountDeltas counts = new ViewCountDeltas();
+        for (String placeId : knownPlaceIds(timestamps.keySet())) {
+            long timestamp = timestamps.get(placeId);
+            viewTrendTracker.record(placeId, timestamp, 1L);
+            trendingPlaceTracker.record(placeId, timestamp, 1L);
+            counts.add(placeId, 1L);
+        }
+
+        Map<String, Long> viewCounts = new HashMap<>();
+        if (counts.isEmpty()) {
+            return viewCounts;
+        }
+        if (viewCountBuffer.isEnabled()) {
+            return viewCountBuffer.incrementAll(counts);
+        }
+        List<PlaceViewCount> updated = placeViewRepository.incrementViewCounts(counts.placeIds(), counts.counts());
+        for (PlaceViewCount count : updated) {
+            viewCounts.put(count.getPlaceId(), count.getViewCount());
+        }
+        return viewCounts;
+    }
+
+    /**
+     * placeIds 중 저장된 장소 (공간 인덱스에 없는 것만 DB에서 한 번에 확인)
+     */
+    private List<String> knownPlaceIds(Collection<String> placeIds) {
+        List<String> known = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String placeId : placeIds) {
+            if (storeSpatialIndex.get(placeId) != null) {
+                known.add(placeId);
+            } else {
+                missing.add(placeId);
             }
-            throw e;
         }
-        return placeView.getViewCount();
+        if (!missing.isEmpty()) {
+            for (StoreSummary store : storeRepository.findSummariesByPlaceIdIn(missing)) {
+                known.add(store.getPlaceId());
+            }
+        }
+        return known;
     }
 
     /**
-     * 조회수 가져오기
+     * 조회수 반영 대상 장소인지 (place_id 형식 + 저장된 장소)
+     * 공간 인덱스에 있으면 DB 조회 없음. 다른 인스턴스에서 방금 저장되어 인덱스에 아직 없는 장소만 DB 확인
      */
-    private Long getViewCount(String placeId) {
-        Optional<PlaceView> placeViewOpt = placeViewRepository.findByPlaceId(placeId);
-        return placeViewOpt.map(PlaceView::getViewCount).orElse(0L);
+    private boolean isKnownPlace(String placeId) {
+        if (!ViewCountBuffer.isValidPlaceId(placeId)) {
+            return false;
+        }
+        return storeSpatialIndex.get(placeId) != null || storeRepository.existsById(placeId);
     }
 
     /**
-     * 최근 10분 동안의 조회수 증가량 가져오기
+     * 지금 뜨는 장소 (최근 window 동안 조회가 많은 순)
+     * 위치가 있으면 그 주변 격자만 대상. 장소 정보는 인메모리 공간 인덱스, 없으면 DB에서 한 번에 조회
      */
-    private Long get10MinIncrease(String placeId) {
-        Optional<PlaceView> placeViewOpt = placeViewRepository.findByPlaceId(placeId);
-        if (placeViewOpt.isPresent()) {
-            PlaceView placeView = placeViewOpt.get();
-            // 스냅샷이 없거나 10분이 지났으면 현재 조회수를 스냅샷으로 설정
-            if (placeView.getLast10MinSnapshotAt() == null || 
-                placeView.getLast10MinSnapshotAt().isBefore(java.time.LocalDateTime.now().minusMinutes(10))) {
-                placeView.update10MinSnapshot();
-                placeViewRepository.save(placeView);
+    public TrendingPlaceResponse getTrendingPlaces(Double latitude, Double longitude, int limit) {
+        List<TrendingPlaceTracker.TrendingPlace> trending = trendingPlaceTracker.top(latitude, longitude, limit);
+
+        Map<String, StoreSummary> stores = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (TrendingPlaceTracker.TrendingPlace place : trending) {
+            StoreSummary store = storeSpatialIndex.get(place.placeId());
+            if (store != null) {
+                stores.put(place.placeId(), store);
+            } else {
+                missing.add(place.placeId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (StoreSummary store : storeRepository.findSummariesByPlaceIdIn(missing)) {
+                stores.put(store.getPlaceId(), store);
+            }
+        }
+
+        List<TrendingPlaceResponse.TrendingPlace> places = new ArrayList<>(trending.size());
+        for (TrendingPlaceTracker.TrendingPlace place : trending) {
+            StoreSummary store = stores.get(place.placeId());
+            // stores에 없는 placeId(잘못된 조회 요청 등)는 제외
+            if (store == null) {
+                continue;
             }
-            return placeView.get10MinIncrease();
+            Double distanceKm = latitude != null && longitude != null
+                    && store.getLatitude() != null && store.getLongitude() != null
+                    ? GeoUtils.distanceKm(latitude, longitude, store.getLatitude(), store.getLongitude()) : null;
+            places.add(TrendingPlaceResponse.TrendingPlace.builder()
+                    .id(store.getPlaceId())
+                    .name(store.getName())
+                    .latitude(store.getLatitude())
+                    .longitude(store.getLongitude())
+                    .address(store.getAddress())
+                    .type(store.getCategory() != null ? store.getCategory()
+                            : PlaceCategory.categoryOf(store.getTypeMask() != null ? store.getTypeMask() : 0L))
+                    .recentViewCount(Math.round(place.estimatedViews()))
+                    .distanceKm(distanceKm)
+                    .build());
         }
-        return 0L;
+        return new TrendingPlaceResponse(places, trendingPlaceTracker.getWindowMinutes());
+    }
+
+    /**
+     * direct 모드: 요청마다 DB 반영 (INSERT ... ON CONFLICT DO UPDATE ... RETURNING 한 문장)
+     */
+    private Long incrementViewCountDirect(String placeId) {
+        return placeViewRepository.incrementViewCount(placeId, 1L);
+    }
+
+    /**
+     * 여러 장소의 PlaceView를 IN 조회로 한 번에 가져오기 (읽기 전용, 없는 장소는 map에 없음)
+     */
+    private Map<String, PlaceView> loadPlaceViews(List<String> placeIds) {
+        Map<String, PlaceView> placeViews = new HashMap<>();
+        long readStartedAt = System.currentTimeMillis();
+        for (int from = 0; from < placeIds.size(); from += PLACE_VIEW_BATCH_SIZE) {
+            List<String> batch = placeIds.subList(from, Math.min(from + PLACE_VIEW_BATCH_SIZE, placeIds.size()));
+            for (PlaceView placeView : placeViewRepository.findByPlaceIdIn(batch)) {
+                placeViews.put(placeView.getPlaceId(), placeView);
+            }
+        }
+        // 읽은 값으로 ViewCountBuffer의 DB 조회수 캐시도 갱신 (다음 조회 이벤트에서 다시 조회하지 않도록)
+        viewCountBuffer.cachePersisted(placeViews.values(), readStartedAt);
+        return placeViews;
+    }
+
+    private ViewStats loadViewStats(List<String> placeIds) {
+        return new ViewStats(loadPlaceViews(placeIds),
+                viewTrendTracker.isEnabled() ? viewTrendTracker.windowCounts(placeIds) : null);
+    }
+
+    /**
+     * view_desc 정렬 점수 (클수록 앞)
+     * trend 사용 시 인기 순위 키 (ViewTrendTracker.rankKeys, 조회가 없으면 NEGATIVE_INFINITY)
+     * 아니면 누적 조회수 (DB 값 + flush 전 증가분)
+     * 둘 다 새 조회가 없으면 시간이 지나도 값이 그대로라 커서의 정렬 키와 비교해도 페이지가 겹치거나 빠지지 않음
+     */
+    private Map<String, Double> loadViewScores(List<String> placeIds) {
+        Map<String, Double> scores = new HashMap<>();
+        if (viewTrendTracker.isEnabled()) {
+            Map<String, Double> rankKeys = viewTrendTracker.rankKeys(placeIds);
+            for (String placeId : placeIds) {
+                scores.put(placeId, rankKeys.getOrDefault(placeId, Double.NEGATIVE_INFINITY));
+            }
+            return scores;
+        }
+        Map<String, PlaceView> placeViews = loadPlaceViews(placeIds);
+        for (String placeId : placeIds) {
+            scores.put(placeId, (double) viewCountOf(placeId, new ViewStats(placeViews, null)));
+        }
+        return scores;
+    }
+
+    /**
+     * 조회수 (DB 값 + 아직 flush되지 않은 증가분)
+     */
+    private long viewCountOf(String placeId, ViewStats viewStats) {
+        PlaceView placeView = viewStats.placeViews().get(placeId);
+        return (placeView != null ? placeView.getViewCount() : 0L) + viewCountBuffer.pending(placeId);
+    }
+
+    /**
+     * 최근 10분 동안의 조회수 증가량
+     * trend 사용 시 ViewTrendTracker의 sliding window 조회수 (flush 전 증가분 포함)
+     * 아니면 스냅샷 기준: 스냅샷이 없거나 스케줄러가 두 주기 넘게 갱신하지 못했으면 0으로 보고, 읽기 중에는 스냅샷을 쓰지 않음
+     * (스케줄 실행 시각이 조금 밀려도 0이 되지 않도록 한 주기의 여유를 둠)
+     */
+    private long tenMinIncreaseOf(String placeId, ViewStats viewStats) {
+        if (viewStats.recentViews() != null) {
+            return viewStats.recentViews().getOrDefault(placeId, 0L);
+        }
+        PlaceView placeView = viewStats.placeViews().get(placeId);
+        long increase = 0L;
+        if (placeView != null && placeView.getLast10MinSnapshotAt() != null
+                && !placeView.getLast10MinSnapshotAt().isBefore(LocalDateTime.now().minus(Duration.ofMillis(2 * SNAPSHOT_INTERVAL_MS)))) {
+            increase = placeView.get10MinIncrease();
+        }
+        return increase + viewCountBuffer.pending(placeId);
     }
 
     /**
      * 10분마다 모든 PlaceView의 스냅샷 업데이트 (스케줄러)
+     * 엔티티를 읽지 않고 id 범위별 UPDATE로 처리하여 장소 수와 관계없이 메모리 사용이 일정하고, 범위마다 커밋하여 행 잠금 시간이 짧음
+     * Redis 잠금(SET NX PX)을 주기보다 조금 짧게 잡아 blue/green 등 여러 인스턴스 중 한 곳만 주기당 한 번 실행
      */
-    @Scheduled(fixedRate = 600000) // 10분 = 600,000ms
-    @Transactional
+    @Scheduled(fixedRate = SNAPSHOT_INTERVAL_MS)
     public void update10MinSnapshots() {
-        List<PlaceView> allPlaceViews = placeViewRepository.findAll();
-        for (PlaceView placeView : allPlaceViews) {
-            placeView.update10MinSnapshot();
+        // trend 사용 시 증가량은 ViewTrendTracker에서 계산하므로 스냅샷 불필요
+        if (viewTrendTracker.isEnabled() || !acquireSnapshotLock()) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long maxId = placeViewRepository.findMaxId();
+        long batchSize = snapshotBatchSize > 0 ? snapshotBatchSize : maxId;
+        int updated = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            updated += placeViewRepository.update10MinSnapshots(fromId, Math.min(fromId + batchSize, maxId), now);
+        }
+        log.info("[PlaceService] updated 10-minute snapshots for {} places: {}ms",
+                updated, (System.nanoTime() - t0) / 1_000_000L);
+    }
+
+    private boolean acquireSnapshotLock() {
+        // Redis 장애 시에는 스냅샷이 멈추지 않도록 인스턴스별로 실행
+        if (!redisConnectionMonitor.isHealthy()) {
+            return true;
+        }
+        try {
+            return redisOperator.setIfAbsent(SNAPSHOT_LOCK_KEY, instanceId, SNAPSHOT_LOCK_TTL);
+        } catch (Exception e) {
+            log.warn("[PlaceService] snapshot lock failed, running locally: {}", e.getMessage());
+            return true;
         }
-        placeViewRepository.saveAll(allPlaceViews);
-        System.out.println("Updated 10-minute snapshots for " + allPlaceViews.size() + " places");
     }
 
     /**
      * PlaceDetails를 PlaceResponse로 변환
      */
     private PlaceResponse convertToPlaceResponse(PlaceDetails details, int walkTimeMinutes, Long viewCount, Long viewCountIncrease) {
-        // 타입 결정 (Google Places API types 기반)
-        String type = determinePlaceType(details.getTypes());
+        // 타입 결정 (DB 장소는 저장 시 계산한 값, 없으면 Google Places API types 기반)
+        String type = details.getDisplayType() != null
+                ? details.getDisplayType()
+                : PlaceCategory.displayTypeOf(details.getTypes());
         
         log.info("[PlaceService] convertToPlaceResponse - placeId: {}, name: {}, types: {}, typesSize: {}, determinedType: {}", 
                    details.getPlaceId(), details.getName(), details.getTypes(), 
@@ -365,37 +836,12 @@ public class PlaceService {
     }
 
     /**
-     * Google Places API types를 기반으로 장소 타입 결정
-     * Google Places API의 타입을 그대로 사용 (간단한 매핑만 수행)
+     * types로 표시용 분류(category, displayType, typeMask)를 계산해 Store에 저장 (응답 변환 시 재계산하지 않음)
      */
-    private String determinePlaceType(List<String> types) {
-        if (types == null || types.isEmpty()) {
-            return "other"; // 타입이 없으면 "기타"
-        }
-
-        // Google Places API 타입을 그대로 사용하되, 일부만 매핑
-        // meal_takeaway -> fastfood로 매핑
-        for (String type : types) {
-            if (type.equals("meal_takeaway") || type.equals("fast_food")) {
-                return "fastfood";
-            }
-        }
-
-        // 나머지는 Google Places API 타입을 그대로 사용
-        // 지원하는 타입: restaurant, cafe, bar, food, bakery, meal_delivery,
-        //               night_club, liquor_store, store, shopping_mall, supermarket, convenience_store
-        for (String type : types) {
-            if (type.equals("restaurant") || type.equals("cafe") || type.equals("bar") ||
-                type.equals("food") || type.equals("bakery") || type.equals("meal_delivery") ||
-                type.equals("night_club") || type.equals("liquor_store") ||
-                type.equals("store") || type.equals("shopping_mall") ||
-                type.equals("supermarket") || type.equals("convenience_store")) {
-                return type;
-            }
-        }
-
-        // 지원하는 타입이 없으면 "기타"
-        return "other";
+    private void applyClassification(Store store, List<String> types) {
+        store.setCategory(PlaceCategory.categoryOf(types));
+        store.setDisplayType(PlaceCategory.displayTypeOf(types));
+        store.setTypeMask(PlaceCategory.typeMask(types));
     }
 
     /**
@@ -437,6 +883,8 @@ public class PlaceService {
             // 리뷰 요약 또는 CES reason을 review 컬럼에 저장 (숫자만 있으면 fallback 사용)
             String reviewSummary = generateCesReason(details);
             store.setReview(sanitizeReviewText(reviewSummary, details.getTypes()));
+            store.setTypes(details.getTypes() != null ? new ArrayList<>(details.getTypes()) : new ArrayList<>());
+            applyClassification(store, details.getTypes());
             
             // reviews를 Redis에 저장 (최대 5개)
             if (details.getReviews() != null && !details.getReviews().isEmpty()) {
@@ -470,12 +918,15 @@ public class PlaceService {
             // types를 Redis에 저장
             if (details.getTypes() != null && !details.getTypes().isEmpty()) {
                 reviewService.setTypes(details.getPlaceId(), details.getTypes());
+                typeBitmapIndex.update(details.getPlaceId(), details.getTypes());
             } else {
                 System.out.println("No types to save for: " + details.getPlaceId() + " (types is null or empty)");
             }
 
-            // DB에 저장
-            storeRepository.save(store);
+            // DB에 저장 후 공간 인덱스에 반영
+            Store saved = storeRepository.save(store);
+            storeGeoService.onStoreSaved(saved);
+            geoResponseCache.invalidateNear(saved.getLatitude(), saved.getLongitude());
             System.out.println("✅ Saved store to PostgreSQL: " + store.getName() + " (" + store.getPlaceId() + ")");
             System.out.println("   - Address: " + (store.getAddress() != null ? store.getAddress() : "null"));
             System.out.println("   - Review: " + (store.getReview() != null ? store.getReview().substring(0, Math.min(50, store.getReview().length())) + "..." : "null"));
@@ -491,13 +942,14 @@ public class PlaceService {
 
     /**
      * Store 엔티티를 PlaceDetails로 변환 (DB에서 가져온 데이터를 API 응답 형식으로 변환)
+     * @param types Redis에서 미리 조회한 types (없으면 null)
      */
-    private PlaceDetails convertStoreToPlaceDetails(Store store) {
-        log.info("[PlaceService] convertStoreToPlaceDetails START - placeId: {}, name: {}", store.getPlaceId(), store.getName());
+    private PlaceDetails convertStoreToPlaceDetails(StoreSummary store, List<String> types) {
         
         PlaceDetails details = new PlaceDetails();
         details.setPlaceId(store.getPlaceId());
         details.setName(store.getName());
+        details.setDisplayType(store.getDisplayType());
         details.setLatitude(store.getLatitude());
         details.setLongitude(store.getLongitude());
 
@@ -525,25 +977,15 @@ public class PlaceService {
             details.setReviews(reviewList);
         }
 
-        // Redis에서 types 가져오기
-        log.info("[PlaceService] convertStoreToPlaceDetails - calling reviewService.getTypes for placeId: {}", store.getPlaceId());
-        List<String> typesFromRedis = reviewService.getTypes(store.getPlaceId());
-        log.info("[PlaceService] convertStoreToPlaceDetails - placeId: {}, storeName: {}, typesFromRedis: {}, typesSize: {}", 
-                   store.getPlaceId(), store.getName(), typesFromRedis, typesFromRedis != null ? typesFromRedis.size() : 0);
-        if (typesFromRedis != null && !typesFromRedis.isEmpty()) {
-            details.setTypes(typesFromRedis);
-            log.info("[PlaceService] convertStoreToPlaceDetails - types set to PlaceDetails - placeId: {}, types: {}", 
-                       store.getPlaceId(), typesFromRedis);
+        // types는 호출한 쪽에서 한 번에 모은 값 사용 (ReviewService.typesOf)
+        if (types != null && !types.isEmpty()) {
+            details.setTypes(types);
         } else {
-            log.warn("[PlaceService] convertStoreToPlaceDetails - WARNING: typesFromRedis is null or empty - placeId: {}", 
-                       store.getPlaceId());
+            log.debug("[PlaceService] convertStoreToPlaceDetails - types is null or empty - placeId: {}", store.getPlaceId());
             // types가 null이면 빈 리스트로 설정하여 NPE 방지
             details.setTypes(new ArrayList<>());
         }
-        
-        log.info("[PlaceService] convertStoreToPlaceDetails END - placeId: {}, final types: {}", 
-                   store.getPlaceId(), details.getTypes());
-        
+
         return details;
     }
 
@@ -564,7 +1006,7 @@ public class PlaceService {
             }
 
             // 타입 결정
-            String type = determinePlaceType(details.getTypes());
+            String type = PlaceCategory.displayTypeOf(details.getTypes());
             
             // LLM으로 CES 이유 생성
             return llmService.generateCesReason(
@@ -576,7 +1018,7 @@ public class PlaceService {
         } catch (Exception e) {
             System.err.println("Error generating CES reason: " + e.getMessage());
             // 기본값 반환
-            String type = determinePlaceType(details.getTypes());
+            String type = PlaceCategory.displayTypeOf(details.getTypes());
             return generateFallbackCesReason(type);
         }
     }
@@ -760,6 +1202,8 @@ public class PlaceService {
             // generativeSummary.overview.text 또는 fallback을 review 컬럼에 저장 (숫자만 있으면 fallback 사용)
             String reviewText = generateCesReasonFromJson(placeData);
             store.setReview(sanitizeReviewText(reviewText, placeData.getTypes()));
+            store.setTypes(placeData.getTypes() != null ? new ArrayList<>(placeData.getTypes()) : new ArrayList<>());
+            applyClassification(store, placeData.getTypes());
             
             // types를 Redis에 저장 (DB 저장 전에 먼저 저장)
             if (placeData.getTypes() != null && !placeData.getTypes().isEmpty()) {
@@ -772,6 +1216,7 @@ public class PlaceService {
                 } else {
                     try {
                         reviewService.setTypes(placeId, placeData.getTypes());
+                        typeBitmapIndex.update(placeId, placeData.getTypes());
                         System.out.println("Types saved to Redis for place: " + placeId);
                     } catch (Exception e) {
                         System.err.println("ERROR: Exception while saving types to Redis for place: " + placeId);
@@ -782,8 +1227,10 @@ public class PlaceService {
                 System.out.println("No types to save for place: " + placeId + " (types is null or empty)");
             }
             
-            // DB에 저장
-            storeRepository.save(store);
+            // DB에 저장 후 공간 인덱스에 반영
+            Store saved = storeRepository.save(store);
+            storeGeoService.onStoreSaved(saved);
+            geoResponseCache.invalidateNear(saved.getLatitude(), saved.getLongitude());
             System.out.println("✅ Saved store to database: " + store.getName() + " (" + store.getPlaceId() + ")");
             System.out.println("   - Address: " + (store.getAddress() != null ? store.getAddress() : "null"));
             System.out.println("   - Review: " + (store.getReview() != null ? store.getReview().substring(0, Math.min(50, store.getReview().length())) + "..." : "null"));
@@ -840,7 +1287,7 @@ public class PlaceService {
             }
         }
         // 2) fallback (타입 기반)
-        String type = determinePlaceTypeFromTypes(placeData.getTypes());
+        String type = fallbackReasonTypeOf(placeData.getTypes());
         String fallbackReason = generateFallbackCesReason(type);
         return fallbackReason != null ? fallbackReason : "참가자들이 자주 찾는 인기 장소";
     }
@@ -874,47 +1321,17 @@ public class PlaceService {
     }
 
     private String fallbackReviewForTypes(List<String> types) {
-        String type = types != null && !types.isEmpty() ? determinePlaceTypeFromTypes(types) : "other";
+        String type = fallbackReasonTypeOf(types);
         String fallback = generateFallbackCesReason(type);
         return fallback != null ? fallback : "참가자들이 자주 찾는 인기 장소";
     }
 
     /**
-     * types 리스트에서 장소 타입 결정
-     * Google Places API v1 Table A 타입(음식·쇼핑·관광·숙박·교통 등) 반영
-     */
-    private String determinePlaceTypeFromTypes(List<String> types) {
-        if (types == null || types.isEmpty()) {
-            return "other";
-        }
-        for (String type : types) {
-            // 음식·카페
-            if (type.equals("restaurant") || type.equals("food") || type.equals("meal_takeaway")) return "restaurant";
-            if (type.equals("cafe") || type.equals("bakery")) return "cafe";
-            if (type.equals("bar") || type.equals("night_club")) return "bar";
-            if (type.contains("fast") || type.equals("meal_delivery")) return "fastfood";
-            // 쇼핑
-            if (type.equals("shopping_mall")) return "shopping_mall";
-            if (type.equals("supermarket") || type.equals("convenience_store")) return type;
-            if (type.equals("store") || type.equals("department_store") || type.equals("clothing_store")
-                    || type.equals("shoe_store") || type.equals("jewelry_store") || type.equals("electronics_store")
-                    || type.equals("furniture_store") || type.equals("home_goods_store") || type.equals("hardware_store")
-                    || type.equals("book_store") || type.equals("pet_store") || type.equals("liquor_store")) return type;
-            // 관광·문화
-            if (type.equals("tourist_attraction") || type.equals("park") || type.equals("museum")
-                    || type.equals("art_gallery") || type.equals("casino")) return type;
-            // 숙박·편의
-            if (type.equals("lodging") || type.equals("spa") || type.equals("gym")) return type;
-            if (type.equals("pharmacy") || type.equals("hospital") || type.equals("bank") || type.equals("atm")) return type;
-            // 교통
-            if (type.equals("gas_station") || type.equals("parking") || type.equals("subway_station")
-                    || type.equals("train_station") || type.equals("bus_station") || type.equals("airport")) return type;
-            // 종교·교육·기타
-            if (type.equals("church") || type.equals("hindu_temple") || type.equals("mosque") || type.equals("synagogue")) return type;
-            if (type.equals("school") || type.equals("university") || type.equals("library")) return type;
-            if (type.equals("zoo") || type.equals("aquarium") || type.equals("amusement_park")) return type;
-        }
-        return types.get(0);
+     * fallback 문구용 타입: PlaceCategory 분류, 음식 분류가 아니면 첫 Google type (shopping_mall, park 등)
+     */
+    private String fallbackReasonTypeOf(List<String> types) {
+        String category = PlaceCategory.categoryOf(types);
+        return PlaceCategory.OTHER.equals(category) && types != null && !types.isEmpty() ? types.get(0) : category;
     }
 
     /**
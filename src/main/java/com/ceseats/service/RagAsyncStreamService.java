@@ -3,14 +3,15 @@ package com.ceseats.service;
 import com.ceseats.config.redis.util.RedisOperator;
 import com.ceseats.dto.RagRecommendationRequest;
 import com.ceseats.dto.StoreResponse;
-import com.ceseats.entity.Store;
-import com.ceseats.repository.StoreRepository;
+import com.ceseats.repository.StoreSummary;
+import com.ceseats.service.geo.StoreGeoService;
+import com.ceseats.service.geo.TypeBitmapIndex;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -21,7 +22,7 @@ import java.util.stream.Collectors;
  * ver.2 Redis Streams 기반 비동기 서비스
  *
  * 1) llm_requests (llm_group): client 요청 수집, LLM worker 처리
- * 2) types 기반 placeId 조회 (Redis type:xxx)
+ * 2) types 기반 placeId 조회 (Redis typeset:xxx SUNION)
  * 3) db_requests (db_group): DB 조회 요청 저장, DB worker 처리
  * 4) PostgreSQL 조회 후 결과 Redis 저장 (TTL)
  * 5) client polling으로 상태 확인
@@ -43,12 +44,16 @@ public class RagAsyncStreamService {
     private static final String KEY_ERROR  = "rag:req:%s:error";
 
     private final RedisOperator redisOperator;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final StoreRepository storeRepository;
+    private final StoreGeoService storeGeoService;
     private final ReviewService reviewService;
+    private final TypeBitmapIndex typeBitmapIndex;
     private final LLMService llmService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // 타입 매칭이 없을 때 반경 내에서 랜덤으로 추천할 개수
+    @Value("${rag.random.sample-size:3}")
+    private int randomSampleSize;
+
     // 간단 키워드 기반 타입 추출 (LLM 연동 전 임시)
     private static final Set<String> KNOWN_TYPES = new LinkedHashSet<>(Arrays.asList(
             "restaurant", "cafe", "coffee_shop", "asian_restaurant", "breakfast_restaurant", "cafeteria",
@@ -149,14 +154,17 @@ public class RagAsyncStreamService {
             List<String> types = extractTypesWithLLM(userPreference);
             final long typesMs = msSince(tTypesStart);
 
+            // 비트맵 인덱스 또는 stores.types 컬럼을 쓸 수 있으면 types만 넘기고 db stage에서 필터링 (placeIds 목록 생략)
             final long tLookupStart = System.nanoTime();
-            Set<String> placeIds = lookupPlaceIdsByTypes(types);
+            Set<String> placeIds = typeBitmapIndex.isReady() || storeGeoService.isTypeQueryReady()
+                    ? Collections.emptySet() : lookupPlaceIdsByTypes(types);
             final long lookupMs = msSince(tLookupStart);
 
             Map<String, Object> dbPayload = new LinkedHashMap<>();
             dbPayload.put("latitude", lat);
             dbPayload.put("longitude", lon);
             dbPayload.put("maxDistanceKm", maxDistanceKm);
+            dbPayload.put("types", types);
             dbPayload.put("placeIds", new ArrayList<>(placeIds));
 
             final long tDbSerializeStart = System.nanoTime();
@@ -194,26 +202,54 @@ public class RagAsyncStreamService {
             Double lat = asDouble(payload.get("latitude"));
             Double lon = asDouble(payload.get("longitude"));
             Integer maxDistanceKm = asInteger(payload.get("maxDistanceKm"));
+            List<String> types = asStringList(payload.get("types"));
             List<String> placeIds = asStringList(payload.get("placeIds"));
             final long parseMs = msSince(tParseStart);
 
             double radiusKm = (maxDistanceKm != null && maxDistanceKm > 0) ? maxDistanceKm.doubleValue() : DEFAULT_RADIUS_KM;
 
+            // placeIds 없이 types만 온 경우
+            // 1) 비트맵 필터 2) stores.types 컬럼 쿼리 한 번 3) Redis SET으로 placeIds 조회
+            // 2), 3)은 비트맵이 로딩 전이거나(type.bitmap.enabled=false 포함) 로딩에 실패한 경우의 fallback
+            TypeBitmapIndex.TypeFilter typeFilter = null;
+            boolean useTypeQuery = false;
+            if ((placeIds == null || placeIds.isEmpty()) && types != null && !types.isEmpty()) {
+                if (typeBitmapIndex.isReady()) {
+                    typeFilter = typeBitmapIndex.matchAny(types);
+                } else if (storeGeoService.isTypeQueryReady()) {
+                    useTypeQuery = true;
+                } else {
+                    placeIds = new ArrayList<>(lookupPlaceIdsByTypes(types));
+                }
+            }
+
             boolean isRandom = false;
-            List<Store> stores;
+            List<StoreSummary> stores = null;
             final long tQueryStart = System.nanoTime();
-            if (placeIds != null && !placeIds.isEmpty()) {
-                stores = storeRepository.findStoresWithinRadiusAndPlaceIds(lat, lon, radiusKm, placeIds);
-            } else {
+            if (typeFilter != null && !typeFilter.isEmpty()) {
+                stores = storeGeoService.findStoresWithinRadiusMatching(lat, lon, radiusKm, typeFilter);
+            } else if (useTypeQuery) {
+                stores = storeGeoService.findStoresWithinRadiusAndTypes(lat, lon, radiusKm, types);
+                if (stores.isEmpty()) {
+                    // 조건에 맞는 장소가 없으면 랜덤 fallback
+                    stores = null;
+                }
+            } else if (placeIds != null && !placeIds.isEmpty()) {
+                stores = storeGeoService.findStoresWithinRadiusAndPlaceIds(lat, lon, radiusKm, placeIds);
+            }
+            if (stores == null) {
                 // 타입이 없으면 거리 기준 랜덤(기존 RAG fallback과 동일)
                 isRandom = true;
-                stores = storeRepository.findRandomStoresWithinRadius(lat, lon, radiusKm);
+                stores = storeGeoService.findRandomStoresWithinRadius(lat, lon, radiusKm, randomSampleSize);
             }
             final long queryMs = msSince(tQueryStart);
 
             final long tMapStart = System.nanoTime();
+            // 인덱스 결과의 review/types는 PK 조회 한 번으로 DB 행에서 채움 (types가 아직 없는 행만 Redis 조회)
+            stores = storeGeoService.withContent(stores);
+            Map<String, List<String>> typesByPlaceId = reviewService.typesOf(stores);
             List<StoreResponse> storeResponses = stores.stream()
-                    .map(this::toStoreResponse)
+                    .map(store -> toStoreResponse(store, typesByPlaceId.get(store.getPlaceId())))
                     .collect(Collectors.toList());
             final long mapMs = msSince(tMapStart);
 
@@ -242,9 +278,8 @@ public class RagAsyncStreamService {
         }
     }
 
-    private StoreResponse toStoreResponse(Store store) {
-        List<String> types = reviewService.getTypes(store.getPlaceId());
-        String type = determineType(types);
+    private StoreResponse toStoreResponse(StoreSummary store, List<String> types) {
+        String type = PlaceCategory.categoryOf(store.getCategory(), types);
 
         StoreResponse res = new StoreResponse();
         res.setId(store.getPlaceId());
@@ -261,15 +296,6 @@ public class RagAsyncStreamService {
         return res;
     }
 
-    private String determineType(List<String> types) {
-        if (types == null || types.isEmpty()) return "other";
-        if (types.contains("restaurant")) return "restaurant";
-        if (types.contains("cafe") || types.contains("coffee_shop")) return "cafe";
-        if (types.contains("fast_food_restaurant")) return "fastfood";
-        if (types.contains("bar") || types.contains("night_club")) return "bar";
-        return "other";
-    }
-
     private List<String> extractTypesWithLLM(String userPreference) {
         try {
             String prompt = buildPreferenceParsingPrompt(userPreference);
@@ -378,27 +404,8 @@ public class RagAsyncStreamService {
 
     private Set<String> lookupPlaceIdsByTypes(List<String> types) {
         if (types == null || types.isEmpty()) return Collections.emptySet();
-        Set<String> ids = new HashSet<>();
-        for (String type : types) {
-            String key = "type:" + type;
-            Object value = redisTemplate.opsForValue().get(key);
-            if (value == null) continue;
-            if (value instanceof List<?> list) {
-                for (Object o : list) {
-                    if (o != null) ids.add(o.toString());
-                }
-            } else if (value instanceof String s) {
-                try {
-                    List<String> parsed = objectMapper.readValue(s, new TypeReference<List<String>>() {});
-                    ids.addAll(parsed);
-                } catch (Exception ignore) {
-                    // ignore
-                }
-            } else {
-                ids.add(value.toString());
-            }
-        }
-        return ids;
+        // typeset:<type> SUNION 한 번으로 중복 없는 placeId만 조회
+        return reviewService.findPlaceIdsByTypes(types);
     }
 
     private static Double asDouble(Object o) {
@@ -3,8 +3,10 @@ package com.ceseats.service;
 import com.ceseats.dto.PreferenceFilters;
 import com.ceseats.dto.RagRecommendationRequest;
 import com.ceseats.dto.StoreResponse;
-import com.ceseats.entity.Store;
-import com.ceseats.repository.StoreRepository;
+import com.ceseats.repository.StoreSummary;
+import com.ceseats.service.geo.ReservoirSampler;
+import com.ceseats.service.geo.StoreGeoService;
+import com.ceseats.service.geo.TypeBitmapIndex;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,7 +14,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Collections;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -27,10 +29,7 @@ import java.util.stream.Collectors;
 public class RagRecommendationService {
 
     @Autowired
-    private StoreRepository storeRepository;
-
-    @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private StoreGeoService storeGeoService;
 
     @Autowired
     private LLMService llmService;
@@ -38,8 +37,15 @@ public class RagRecommendationService {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private TypeBitmapIndex typeBitmapIndex;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // 타입 매칭이 없을 때 반경 내에서 랜덤으로 추천할 개수
+    @Value("${rag.random.sample-size:3}")
+    private int randomSampleSize;
+
     /**
      * LLM 사용해서 장소 추천 부분
      */
@@ -56,63 +62,40 @@ public class RagRecommendationService {
             PreferenceFilters filters = parsePreference(userPreference);
             log.info("[RagRecommendationService] 사용자의 선호도를 LLM으로 파싱한 필터: {}", filters);
 
-            //2-1. 필터링 (타입) redis에서
+            //2-1. 필터링 (타입)
             /*
-            redis에 아래 형태로 저장됨
-            type1 : {id1, id2, id3}
-            type2 : {id2, id3}
-             */
-            Set<String> typeFilteredPlaceIds = new HashSet<>();
-
-            // Redis에서 조회할 types 로그
-            log.info("[RagRecommendationService] Redis에서 찾을 types: {}", filters.getTypes() != null ? filters.getTypes() : "null");
-
-            //타입별로 Redis에서 place_id 배열(List) 조회
-            if (filters.getTypes() != null && !filters.getTypes().isEmpty()) {
-                for (String type : filters.getTypes()) {
-                    String redisKey = "type:" + type;
-                    Object value = redisTemplate.opsForValue().get(redisKey);
-                    if (value == null) {
-                        log.info("[RagRecommendationService] Redis type:{} -> (key 없음 또는 값 없음)", redisKey);
-                        continue;
-                    }
-
-                    java.util.List<String> placeIdList = new java.util.ArrayList<>();
-                    if (value instanceof java.util.List) {
-                        @SuppressWarnings("unchecked")
-                        java.util.List<Object> rawList = (java.util.List<Object>) value;
-                        for (Object o : rawList) {
-                            if (o != null) {
-                                placeIdList.add(o.toString());
-                            }
-                        }
-                    } else if (value instanceof String) {
-                        // 방어적으로 문자열(JSON)일 수도 있는 경우 처리
-                        try {
-                            java.util.List<String> parsed = objectMapper.readValue(
-                                    (String) value,
-                                    new com.fasterxml.jackson.core.type.TypeReference<java.util.List<String>>() {}
-                            );
-                            placeIdList.addAll(parsed);
-                        } catch (Exception ignore) {
-                        }
-                    }
+            TypeBitmapIndex가 준비되어 있으면 type별 비트맵 OR로 필터를 만들고
+            반경 조회 결과에 바로 적용 (placeId 목록을 DB로 넘기지 않음)
 
-                    log.info("[RagRecommendationService] Redis type:{} -> placeIds: {} ({}개)", redisKey, placeIdList, placeIdList.size());
-                    typeFilteredPlaceIds.addAll(placeIdList);
-                }
+            준비 전이면 redis에 아래 형태로 저장된 SET 사용
+            typeset:type1 : {id1, id2, id3}
+            typeset:type2 : {id2, id3}
+            SUNION 한 번으로 합집합만 가져옴
+             */
+            log.info("[RagRecommendationService] 찾을 types: {}", filters.getTypes() != null ? filters.getTypes() : "null");
+            List<StoreSummary> candidates;
+            if (typeBitmapIndex.isReady()) {
+                TypeBitmapIndex.TypeFilter typeFilter = typeBitmapIndex.matchAny(filters.getTypes());
+                log.info("[RagRecommendationService] 비트맵 타입 필터링 결과: {}개 (전체)", typeFilter.cardinality());
+                candidates = filterByTypeBitmap(
+                    request.getLatitude(),
+                    request.getLongitude(),
+                    request.getMaxDistanceKm(),
+                    typeFilter
+                );
+            } else {
+                Set<String> typeFilteredPlaceIds = reviewService.findPlaceIdsByTypes(filters.getTypes());
+                log.info("[RagRecommendationService] Redis 타입 필터링 결과: {}개 placeIds (전체)", typeFilteredPlaceIds.size());
+
+                //2-2: 필터링 (위치, 거리)
+                log.info("[RagRecommendationService] Step 2: PostgreSQL에서 필터링");
+                candidates = filterByPostgreSQL(
+                    request.getLatitude(),
+                    request.getLongitude(),
+                    request.getMaxDistanceKm(),
+                    typeFilteredPlaceIds
+                );
             }
-
-            log.info("[RagRecommendationService] Redis 타입 필터링 결과: {}개 placeIds (전체)", typeFilteredPlaceIds.size());
-
-            //2-2: 필터링 (위치, 거리)
-            log.info("[RagRecommendationService] Step 2: PostgreSQL에서 필터링");
-            List<Store> candidates = filterByPostgreSQL(
-                request.getLatitude(),
-                request.getLongitude(),
-                request.getMaxDistanceKm(),
-                typeFilteredPlaceIds
-            );
             log.info("[RagRecommendationService] PostgreSQL에서 찾은 후보 : {}", candidates.size());
 
             //candidates를 StoreResponse로 변환
@@ -139,16 +122,17 @@ public class RagRecommendationService {
     public RagRecommendationResult getRandomStores(int count, Double latitude, Double longitude) {
 
         // 반경 내의 모든 장소 가져오기 (기본 5km)
-        List<Store> allStores = storeRepository.findStoresWithinRadius(
+        List<StoreSummary> allStores = storeGeoService.findStoresWithinRadius(
             latitude,
             longitude,
             5.0
         );
 
-        // 레스토랑/카페 타입 필터링
-        List<Store> restaurantCafeStores = allStores.stream()
+        // 레스토랑/카페 타입 필터링 (DB 행의 types, 없는 장소만 Redis MGET 한 번)
+        Map<String, List<String>> typesByPlaceId = reviewService.typesOf(allStores);
+        List<StoreSummary> restaurantCafeStores = allStores.stream()
             .filter(store -> {
-                List<String> types = reviewService.getTypes(store.getPlaceId());
+                List<String> types = typesByPlaceId.get(store.getPlaceId());
                 if (types == null || types.isEmpty()) {
                     return false;
                 }
@@ -163,11 +147,8 @@ public class RagRecommendationService {
             })
             .collect(Collectors.toList());
 
-        // 랜덤으로 선택
-        Collections.shuffle(restaurantCafeStores);
-        List<Store> selected = restaurantCafeStores.stream()
-            .limit(count)
-            .collect(Collectors.toList());
+        // 랜덤으로 선택 (전체 셔플 대신 reservoir sampling)
+        List<StoreSummary> selected = ReservoirSampler.sample(restaurantCafeStores, count);
 
         // PlaceContext로 변환
         List<PlaceContext> contexts = selected.stream()
@@ -178,7 +159,7 @@ public class RagRecommendationService {
                 ctx.latitude = store.getLatitude();
                 ctx.longitude = store.getLongitude();
                 ctx.address = store.getAddress();
-                ctx.types = reviewService.getTypes(store.getPlaceId());
+                ctx.types = typesByPlaceId.get(store.getPlaceId());
                 
                 List<Map<String, Object>> reviews = reviewService.getReviews(store.getPlaceId());
 
@@ -204,11 +185,12 @@ public class RagRecommendationService {
         Double longitude,
         Integer maxDistanceKm
     ) {
-        //typeFilteredPlaceIds가 비었으면, 거리만 필터링 (랜덤 3개만 반환)
-        List<Store> stores = storeRepository.findRandomStoresWithinRadius(
+        //typeFilteredPlaceIds가 비었으면, 거리만 필터링 (랜덤 randomSampleSize개만 반환)
+        List<StoreSummary> stores = storeGeoService.findRandomStoresWithinRadius(
             latitude,
             longitude,
-            maxDistanceKm != null && maxDistanceKm > 0 ? maxDistanceKm.doubleValue() : 5.0
+            maxDistanceKm != null && maxDistanceKm > 0 ? maxDistanceKm.doubleValue() : 5.0,
+            randomSampleSize
         );
 
         // Store → PlaceContext → StoreResponse 변환
@@ -343,10 +325,27 @@ public class RagRecommendationService {
         return new PreferenceFilters(Collections.emptyList());
     }
 
+    /**
+     * 2: 반경 조회 결과에 type 비트맵 필터 적용
+     * 조건에 맞는 장소가 하나도 없으면 filterByPostgreSQL과 같이 랜덤 randomSampleSize개 반환
+     */
+    private List<StoreSummary> filterByTypeBitmap(
+        Double latitude,
+        Double longitude,
+        Integer maxDistanceKm,
+        TypeBitmapIndex.TypeFilter typeFilter
+    ) {
+        double radiusKm = (maxDistanceKm != null && maxDistanceKm > 0) ? maxDistanceKm.doubleValue() : 5.0;
+        if (!typeFilter.isEmpty()) {
+            return storeGeoService.findStoresWithinRadiusMatching(latitude, longitude, radiusKm, typeFilter);
+        }
+        return storeGeoService.findRandomStoresWithinRadius(latitude, longitude, radiusKm, randomSampleSize);
+    }
+
     /**
      * 2: PostgreSQL (location, distance, id)에서 필터된 결과 반환
      */
-    private List<Store> filterByPostgreSQL(
+    private List<StoreSummary> filterByPostgreSQL(
         Double latitude,
         Double longitude,
         Integer maxDistanceKm,
@@ -355,19 +354,20 @@ public class RagRecommendationService {
         //typeFilteredPlaceIds 에 있는 장소id에 대해서 거리 제한 적용
         double radiusKm = (maxDistanceKm != null && maxDistanceKm > 0) ? maxDistanceKm.doubleValue() : 5.0;
         if (typeFilteredPlaceIds != null && !typeFilteredPlaceIds.isEmpty()) {
-            List<Store> stores = storeRepository.findStoresWithinRadiusAndPlaceIds(
+            List<StoreSummary> stores = storeGeoService.findStoresWithinRadiusAndPlaceIds(
                 latitude,
                 longitude,
                 radiusKm,
-                new ArrayList<>(typeFilteredPlaceIds)
+                typeFilteredPlaceIds
             );
             return stores;
         } else {
-            //typeFilteredPlaceIds가 비었으면, 거리만 필터링 (랜덤 3개만 반환)
-            List<Store> stores = storeRepository.findRandomStoresWithinRadius(
+            //typeFilteredPlaceIds가 비었으면, 거리만 필터링 (랜덤 randomSampleSize개만 반환)
+            List<StoreSummary> stores = storeGeoService.findRandomStoresWithinRadius(
                 latitude,
                 longitude,
-                radiusKm
+                radiusKm,
+                randomSampleSize
             );
             return stores;
         }
@@ -387,7 +387,9 @@ public class RagRecommendationService {
     /**
      * Step 4: Build place contexts for LLM
      */
-    private List<PlaceContext> buildPlaceContexts(List<Store> stores) {
+    private List<PlaceContext> buildPlaceContexts(List<StoreSummary> stores) {
+        // DB 행의 types, 없는 장소(인덱스 결과 등)만 Redis MGET 한 번
+        Map<String, List<String>> typesByPlaceId = reviewService.typesOf(stores);
         return stores.stream()
             .map(store -> {
                 PlaceContext context = new PlaceContext();
@@ -397,8 +399,8 @@ public class RagRecommendationService {
                 context.longitude = store.getLongitude();
                 context.address = store.getAddress();
 
-                // Get types from Redis
-                context.types = reviewService.getTypes(store.getPlaceId());
+                context.types = typesByPlaceId.get(store.getPlaceId());
+                context.category = store.getCategory();
 
                 // Get reviews from Redis (for context)
                 List<Map<String, Object>> reviews = reviewService.getReviews(store.getPlaceId());
@@ -418,8 +420,8 @@ public class RagRecommendationService {
         response.setAddress(ctx.address);
         response.setTypes(ctx.types);
 
-        // Set type based on types
-        String type = determineType(ctx.types);
+        // Set type (저장 시 계산한 category, 없으면 types로 계산)
+        String type = PlaceCategory.categoryOf(ctx.category, ctx.types);
         response.setType(type);
         
         // Get reviews
@@ -444,17 +446,6 @@ public class RagRecommendationService {
         return response;
     }
 
-    private String determineType(List<String> types) {
-        if (types == null || types.isEmpty()) return "other";
-        
-        if (types.contains("restaurant")) return "restaurant";
-        if (types.contains("cafe") || types.contains("coffee_shop")) return "cafe";
-        if (types.contains("fast_food_restaurant")) return "fastfood";
-        if (types.contains("bar") || types.contains("night_club")) return "bar";
-        
-        return "other";
-    }
-
     /**
      * Internal context class for LLM
      */
@@ -465,6 +456,7 @@ public class RagRecommendationService {
         Double longitude;
         String address;
         List<String> types;
+        String category;
     }
 
     /**
@@ -3,8 +3,10 @@ package com.ceseats.service;
 import com.ceseats.dto.RecommendationRequest;
 import com.ceseats.dto.RecommendationResponse;
 import com.ceseats.dto.StoreResponse;
-import com.ceseats.entity.Store;
-import com.ceseats.repository.StoreRepository;
+import com.ceseats.repository.StoreSummary;
+import com.ceseats.service.cache.GeoResponseCache;
+import com.ceseats.service.geo.GeoUtils;
+import com.ceseats.service.geo.StoreGeoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +16,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 기존 API 호환성을 위한 RecommendationService
@@ -27,45 +32,90 @@ public class RecommendationService {
     private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
 
     @Autowired
-    private StoreRepository storeRepository;
+    private StoreGeoService storeGeoService;
 
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private GeoResponseCache geoResponseCache;
+
     public RecommendationResponse getRecommendations(RecommendationRequest request) {
 
-        // 거리만 기준으로 DB에서 요청한 반경 내 장소만 조회 (미터 → km)
+        // 거리만 기준으로 요청한 반경 내 장소만 조회 (미터 → km)
         int radiusMeters = request.getRadiusMeters() != null && request.getRadiusMeters() > 0
                 ? request.getRadiusMeters() : 5000;
         double radiusKm = radiusMeters / 1000.0;
-        List<Store> stores = storeRepository.findStoresWithinRadius(
-                request.getLatitude(),
-                request.getLongitude(),
-                radiusKm
-        );
+        // limit이 있으면 가까운 limit개만 조회 (거리순 부분 선택, DB 사용 시 LIMIT 적용)
+        Integer limit = request.getLimit() != null && request.getLimit() > 0 ? request.getLimit() : null;
+        double latitude = request.getLatitude();
+        double longitude = request.getLongitude();
+
+        if (!geoResponseCache.isEnabled()) {
+            List<StoreSummary> stores = limit != null
+                    ? storeGeoService.findNearestStores(latitude, longitude, radiusKm, limit)
+                    : storeGeoService.findStoresWithinRadius(latitude, longitude, radiusKm);
+            logger.info("[RecommendationService] findStoresWithinRadius returned {} stores", stores.size());
+            return new RecommendationResponse(convertStores(stores));
+        }
 
-        logger.info("[RecommendationService] findStoresWithinRadius returned {} stores", stores.size());
+        // 캐시에는 같은 키(격자/반경 bucket)의 모든 요청 결과를 포함하는 후보를 두고, 요청마다 실제 좌표/반경으로 거름
+        List<StoreResponse> candidates = geoResponseCache.getRecommendations(latitude, longitude, radiusMeters, limit);
+        if (candidates == null) {
+            GeoResponseCache.Cover cover = geoResponseCache.coverOf(latitude, longitude, radiusMeters);
+            List<StoreSummary> stores = cover.candidatesFor(
+                    storeGeoService.findStoresWithinRadius(cover.latitude(), cover.longitude(), cover.radiusKm()),
+                    store -> cover.distanceKm(store.getLatitude(), store.getLongitude()),
+                    limit);
+            logger.info("[RecommendationService] findStoresWithinRadius returned {} candidate stores", stores.size());
+            candidates = convertStores(stores);
+            geoResponseCache.putRecommendations(latitude, longitude, radiusMeters, limit, candidates);
+        }
 
-        // Store -> StoreResponse 변환
+        // 캐시된 객체는 공유되므로 복사해서 반환
+        List<StoreResponse> responses = candidates.stream()
+                .filter(store -> GeoUtils.distanceKm(latitude, longitude, store.getLatitude(), store.getLongitude()) <= radiusKm)
+                .sorted(Comparator.comparingDouble(
+                        (StoreResponse store) -> GeoUtils.distanceKm(latitude, longitude, store.getLatitude(), store.getLongitude())))
+                .limit(limit != null ? limit : Long.MAX_VALUE)
+                .map(this::copyOf)
+                .collect(Collectors.toList());
+        return new RecommendationResponse(responses);
+    }
+
+    /**
+     * Store -> StoreResponse 변환 (인덱스 결과의 review/types는 PK 조회 한 번으로 DB 행에서 채움)
+     */
+    private List<StoreResponse> convertStores(List<StoreSummary> candidates) {
+        List<StoreSummary> stores = storeGeoService.withContent(candidates);
+        Map<String, List<String>> typesByPlaceId = reviewService.typesOf(stores);
         List<StoreResponse> responses = new ArrayList<>();
-        for (Store store : stores) {
-            StoreResponse response = convertStoreToStoreResponse(store);
+        for (StoreSummary store : stores) {
+            StoreResponse response = convertStoreToStoreResponse(store, typesByPlaceId.get(store.getPlaceId()));
             responses.add(response);
         }
+        return responses;
+    }
 
-        return new RecommendationResponse(responses);
+    private StoreResponse copyOf(StoreResponse cached) {
+        return new StoreResponse(cached.getId(), cached.getName(), cached.getType(), cached.getWalkingTime(),
+                cached.getEstimatedDuration(), cached.getPriceLevel(), cached.getCesReason(),
+                cached.getLatitude(), cached.getLongitude(), cached.getAddress(),
+                copyOfList(cached.getPhotos()), copyOfList(cached.getTypes()), copyOfList(cached.getReviews()),
+                cached.getViewCount(), cached.getViewCountIncrease());
+    }
+
+    private static <T> List<T> copyOfList(List<T> list) {
+        return list != null ? new ArrayList<>(list) : null;
     }
 
     /**
-     * Store 엔티티를 Basic 추천용 StoreResponse로 변환
+     * Store(목록용 projection)를 Basic 추천용 StoreResponse로 변환
      * (DB에 저장된 최소 정보 + Redis types만 사용)
      */
-    private StoreResponse convertStoreToStoreResponse(Store store) {
-        // Redis에서 types 조회
-        List<String> types = reviewService.getTypes(store.getPlaceId());
-
-        // 대표 type 결정
-        String type = determineType(types);
+    private StoreResponse convertStoreToStoreResponse(StoreSummary store, List<String> types) {
+        // 대표 type (저장 시 계산한 category, 없으면 types로 계산)
+        String type = PlaceCategory.categoryOf(store.getCategory(), types);
 
         // 기본값 설정 (Basic 추천이므로 심플하게)
         Integer walkingTime = 0; // 계산 안 함
@@ -89,7 +139,7 @@ public class RecommendationService {
         response.setViewCount(0);
         response.setViewCountIncrease(0L);
 
-        logger.info("[RecommendationService] convertStoreToStoreResponse - placeId: {}, type: {}, types: {}",
+        logger.debug("[RecommendationService] convertStoreToStoreResponse - placeId: {}, type: {}, types: {}",
                 response.getId(), response.getType(), response.getTypes());
 
         return response;
@@ -110,16 +160,5 @@ public class RecommendationService {
                 return Math.min(45, maxTime);
         }
     }
-    private String determineType(List<String> types) {
-        if (types == null || types.isEmpty()) return "other";
-
-        if (types.contains("restaurant")) return "restaurant";
-        if (types.contains("cafe") || types.contains("coffee_shop")) return "cafe";
-        if (types.contains("fast_food_restaurant") || types.contains("meal_takeaway") || types.contains("fast_food"))
-            return "fastfood";
-        if (types.contains("bar") || types.contains("night_club")) return "bar";
-
-        return "other";
-    }
 }
 
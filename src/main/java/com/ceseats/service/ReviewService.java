@@ -1,17 +1,33 @@
 package com.ceseats.service;
 
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import com.ceseats.repository.StoreSummary;
+import com.ceseats.service.cache.TypesNearCache;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ReviewService {
@@ -22,7 +38,32 @@ public class ReviewService {
     private RedisTemplate<String, Object> redisTemplate;
     
     @Autowired
-    private RedisConnectionFactory redisConnectionFactory;
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    @Autowired
+    private TypesNearCache typesNearCache;
+
+    @Autowired
+    private TypesHashStore typesHashStore;
+
+    // bucketed 레이아웃으로 옮긴 뒤 types:<placeId> 키 삭제 여부 (이전 버전 인스턴스가 모두 내려간 뒤 true)
+    @Value("${redis.types.delete-legacy-keys:false}")
+    private boolean deleteLegacyTypeKeys;
+
+    // 이전 형식 type:<type> 리스트도 함께 갱신 (이전 버전 인스턴스가 모두 내려갈 때까지 true)
+    // true인 동안은 이전 버전 인스턴스가 type:<type>에만 기록하므로 migration 완료 표시를 남기지 않고 주기적으로 다시 이전
+    @Value("${redis.types.legacy-index-write:true}")
+    private boolean writeLegacyTypeIndex;
+
+    // type -> place_id 역인덱스 (SET, 값은 plain string)
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private static final String TYPE_SET_KEY_PREFIX = "typeset:";
+    // 이전 형식: type:<type> -> JSON 리스트 (migrateLegacyTypeIndex로 이전)
+    private static final String LEGACY_TYPE_KEY_PREFIX = "type:";
+    // type:<type> → typeset:<type> 이전 완료 표시 (있으면 SCAN 생략). legacy-index-write=false일 때만 기록
+    private static final String TYPE_INDEX_MIGRATED_KEY = "migration:typeset:done";
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -45,50 +86,144 @@ public class ReviewService {
     }
 
     public List<String> getTypes(String placeId) {
+        List<String> cached = typesNearCache.get(placeId);
+        if (cached != null) {
+            return cached.isEmpty() ? null : cached;
+        }
+        long stamp = typesNearCache.stamp(placeId);
+        if (!redisConnectionMonitor.isHealthy()) {
+            logger.debug("[Redis] getTypes skipped (redis unhealthy) - placeId: {}", placeId);
+            return null;
+        }
         try {
-            // Redis 연결 확인
-            if (redisTemplate == null) {
-                logger.error("[Redis] getTypes - redisTemplate is NULL!");
-                return null;
-            }
-            
-            String key = "types:" + placeId;
-            logger.info("[Redis] getTypes - placeId: {}, key: {}", placeId, key);
-            
-            // Redis 연결 테스트
-            try {
-                redisTemplate.getConnectionFactory().getConnection().ping();
-                logger.info("[Redis] getTypes - Redis connection OK");
-            } catch (Exception e) {
-                logger.error("[Redis] getTypes - Redis connection FAILED: {}", e.getMessage(), e);
-                return null;
-            }
-            
-            Object types = redisTemplate.opsForValue().get(key);
-            if (types == null) {
-                logger.warn("[Redis] getTypes - types is null for placeId: {} (key not found in Redis)", placeId);
-                return null;
+            List<String> typeList = typesHashStore.isEnabled() ? typesHashStore.get(placeId) : null;
+            if (typeList == null) {
+                // key 레이아웃이거나 버킷으로 아직 옮겨지지 않은 place
+                Object types = redisTemplate.opsForValue().get(typesKey(placeId));
+                if (types == null) {
+                    logger.debug("[Redis] getTypes - key not found for placeId: {}", placeId);
+                }
+                typeList = toTypeList(types);
             }
+            typesNearCache.put(placeId, typeList, stamp);
+            return typeList;
+        } catch (Exception e) {
+            redisConnectionMonitor.markFailure(e);
+            logger.error("[Redis] getTypes - ERROR for placeId: {}", placeId, e);
+            return null;
+        }
+    }
 
-            // Redis에서 가져온 데이터가 문자열인 경우 파싱
-            if (types instanceof String) {
-                List<String> parsedTypes = objectMapper.readValue((String) types, new TypeReference<List<String>>() {});
-                logger.info("[Redis] getTypes - parsed from String, placeId: {}, types: {}", placeId, parsedTypes);
-                return parsedTypes;
-            } else if (types instanceof List) {
-                // 이미 List인 경우 그대로 반환
-                @SuppressWarnings("unchecked")
-                List<String> typesList = (List<String>) types;
-                logger.info("[Redis] getTypes - found List, placeId: {}, types: {}", placeId, typesList);
-                return typesList;
+    /**
+     * 응답 변환용 types. DB 행(stores.types)에 있으면 그대로 쓰고, 없는 장소(backfill 전 행, 인메모리 인덱스 결과)만 Redis에서 한 번에 조회
+     * @return placeId -> types (types가 없는 place는 포함하지 않음)
+     */
+    public Map<String, List<String>> typesOf(Collection<? extends StoreSummary> stores) {
+        Map<String, List<String>> typesByPlaceId = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (StoreSummary store : stores) {
+            List<String> types = store.getTypes();
+            if (types != null && !types.isEmpty()) {
+                typesByPlaceId.put(store.getPlaceId(), types);
+            } else {
+                missing.add(store.getPlaceId());
             }
+        }
+        if (!missing.isEmpty()) {
+            typesByPlaceId.putAll(getTypes(missing));
+        }
+        return typesByPlaceId;
+    }
 
-            logger.warn("[Redis] getTypes - unknown type: {}", types != null ? types.getClass().getName() : "null");
-            return null;
+    /**
+     * 여러 place_id의 types를 조회. near-cache에 없는 것만 MGET 한 번으로 조회
+     * bucketed 레이아웃이면 버킷별 HMGET 파이프라인으로 조회하고, 버킷에 없는 것만 MGET
+     * @return placeId -> types (types가 없는 place는 포함하지 않음)
+     */
+    public Map<String, List<String>> getTypes(Collection<String> placeIds) {
+        Map<String, List<String>> typesByPlaceId = new HashMap<>();
+        if (placeIds == null || placeIds.isEmpty()) {
+            return typesByPlaceId;
+        }
+        List<String> ids = new ArrayList<>();
+        Map<String, Long> stamps = new HashMap<>();
+        for (String placeId : new LinkedHashSet<>(placeIds)) {
+            List<String> cached = typesNearCache.get(placeId);
+            if (cached == null) {
+                ids.add(placeId);
+                stamps.put(placeId, typesNearCache.stamp(placeId));
+            } else if (!cached.isEmpty()) {
+                typesByPlaceId.put(placeId, cached);
+            }
+        }
+        if (ids.isEmpty() || !redisConnectionMonitor.isHealthy()) {
+            return typesByPlaceId;
+        }
+        try {
+            if (typesHashStore.isEnabled()) {
+                List<List<String>> bucketed = typesHashStore.multiGet(ids);
+                List<String> notInBuckets = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i++) {
+                    List<String> types = bucketed.get(i);
+                    if (types != null) {
+                        typesNearCache.put(ids.get(i), types, stamps.get(ids.get(i)));
+                        typesByPlaceId.put(ids.get(i), types);
+                    } else {
+                        notInBuckets.add(ids.get(i));
+                    }
+                }
+                ids = notInBuckets;
+                if (ids.isEmpty()) {
+                    return typesByPlaceId;
+                }
+            }
+            List<String> keys = new ArrayList<>(ids.size());
+            for (String placeId : ids) {
+                keys.add(typesKey(placeId));
+            }
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return typesByPlaceId;
+            }
+            for (int i = 0; i < ids.size() && i < values.size(); i++) {
+                List<String> types = toTypeList(values.get(i));
+                typesNearCache.put(ids.get(i), types, stamps.get(ids.get(i)));
+                if (types != null) {
+                    typesByPlaceId.put(ids.get(i), types);
+                }
+            }
+            logger.debug("[Redis] getTypes(bulk) - requested: {}, found: {}", ids.size(), typesByPlaceId.size());
         } catch (Exception e) {
-            logger.error("[Redis] getTypes - ERROR for placeId: {}", placeId, e);
+            redisConnectionMonitor.markFailure(e);
+            logger.error("[Redis] getTypes(bulk) - ERROR for {} placeIds", ids.size(), e);
+        }
+        return typesByPlaceId;
+    }
+
+    private List<String> toTypeList(Object types) {
+        if (types == null) {
             return null;
         }
+        // compact codec으로 저장된 값은 List로 읽힘. 문자열은 이전 형식(JSON 문자열)
+        if (types instanceof String) {
+            try {
+                return objectMapper.readValue((String) types, new TypeReference<List<String>>() {});
+            } catch (Exception e) {
+                logger.warn("[Redis] getTypes - invalid types value: {}", types);
+                return null;
+            }
+        } else if (types instanceof List) {
+            // 이미 List인 경우 그대로 반환
+            @SuppressWarnings("unchecked")
+            List<String> typesList = (List<String>) types;
+            return typesList;
+        }
+        logger.warn("[Redis] getTypes - unknown type: {}", types.getClass().getName());
+        return null;
+    }
+
+    private static String typesKey(String placeId) {
+        return "types:" + placeId;
     }
 
     /**
@@ -97,92 +232,244 @@ public class ReviewService {
      * @param types types 리스트
      */
     public void setTypes(String placeId, List<String> types) {
-        System.out.println("=== setTypes called ===");
-        System.out.println("placeId: " + placeId);
-        System.out.println("types: " + (types != null ? types.size() + " items" : "null"));
-        if (types != null && !types.isEmpty()) {
-            System.out.println("types content: " + types);
-        }
-        
+        logger.debug("[Redis] setTypes - placeId: {}, types: {}", placeId, types);
+
         try {
             if (placeId == null || placeId.isEmpty()) {
-                System.err.println("WARNING: Cannot save types - placeId is null or empty");
+                logger.warn("[Redis] setTypes - placeId is null or empty");
                 return;
             }
             if (types == null || types.isEmpty()) {
-                System.out.println("No types to save for place: " + placeId);
+                logger.debug("[Redis] setTypes - no types to save for placeId: {}", placeId);
                 return;
             }
-            
-            // RedisTemplate이 null인지 확인
-            if (redisTemplate == null) {
-                System.err.println("ERROR: redisTemplate is null!");
-                return;
+
+            // 1) placeId 기준 types 리스트 저장 (bucketed 레이아웃이면 typesb:<bucket> 해시, 아니면 types:<placeId>)
+            if (typesHashStore.isEnabled()) {
+                typesHashStore.put(placeId, types);
+            } else {
+                redisTemplate.opsForValue().set(typesKey(placeId), types);
             }
-            
-            System.out.println("redisTemplate is not null, proceeding to save...");
 
-            // 1) placeId 기준 types 리스트 저장 (기존 구조 유지)
-            String placeTypesKey = "types:" + placeId;
-            System.out.println("Setting key: " + placeTypesKey + " with value: " + types);
-            redisTemplate.opsForValue().set(placeTypesKey, types);
-            System.out.println("Successfully saved " + types.size() + " types to Redis for place: " + placeId + " (key: " + placeTypesKey + ")");
+            // 2) type 기준 placeId 역인덱스: Redis SET (typeset:<type>)
+            //    SADD는 원자적이라 동시 저장 시에도 유실 없음, 파이프라인으로 한 번에 전송
+            addToTypeIndex(placeId, types);
+            if (writeLegacyTypeIndex) {
+                updateLegacyTypeIndex(placeId, types, true);
+            }
+            typesNearCache.invalidate(placeId);
+            logger.debug("[Redis] setTypes - saved {} types for placeId: {} (bucketed: {})",
+                    types.size(), placeId, typesHashStore.isEnabled());
+        } catch (Exception e) {
+            logger.error("[Redis] setTypes - ERROR for placeId: {}", placeId, e);
+        }
+    }
 
-            // 2) type 기준 placeId 배열(List) 저장 (요청 사양: type -> [placeId...])
-            //    예: "restaurant" -> ["place1", "place2", ...]
-            for (String type : types) {
-                if (type == null || type.isEmpty()) {
-                    continue;
+    /**
+     * place_id로 types 삭제
+     * @param placeId Google Places place_id
+     */
+    public void deleteTypes(String placeId) {
+        List<String> types = getTypes(placeId);
+        if (types != null && !types.isEmpty()) {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] member = placeId.getBytes(StandardCharsets.UTF_8);
+                for (String type : types) {
+                    if (type == null || type.isEmpty()) continue;
+                    connection.setCommands().sRem(typeSetKey(type).getBytes(StandardCharsets.UTF_8), member);
                 }
-                String typeKey = "type:" + type;
-                // 기존 값 읽기
-                Object existing = redisTemplate.opsForValue().get(typeKey);
-                java.util.List<String> placeIdList = new java.util.ArrayList<>();
-                if (existing instanceof java.util.List) {
-                    @SuppressWarnings("unchecked")
-                    java.util.List<Object> rawList = (java.util.List<Object>) existing;
-                    for (Object o : rawList) {
-                        if (o != null) {
-                            placeIdList.add(o.toString());
-                        }
+                return null;
+            });
+            if (writeLegacyTypeIndex) {
+                updateLegacyTypeIndex(placeId, types, false);
+            }
+        }
+        if (typesHashStore.isEnabled()) {
+            typesHashStore.delete(placeId);
+        }
+        redisTemplate.delete(typesKey(placeId));
+        typesNearCache.invalidate(placeId);
+    }
+
+    /**
+     * types 중 하나 이상을 가진 place_id (SUNION, 한 번의 왕복)
+     */
+    public Set<String> findPlaceIdsByTypes(Collection<String> types) {
+        List<String> keys = typeSetKeys(types);
+        if (keys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> placeIds = stringRedisTemplate.opsForSet().union(keys);
+        return placeIds != null ? placeIds : Collections.emptySet();
+    }
+
+    /**
+     * types를 모두 가진 place_id (SINTER, 한 번의 왕복)
+     */
+    public Set<String> findPlaceIdsByAllTypes(Collection<String> types) {
+        List<String> keys = typeSetKeys(types);
+        if (keys.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> placeIds = stringRedisTemplate.opsForSet().intersect(keys);
+        return placeIds != null ? placeIds : Collections.emptySet();
+    }
+
+    private void addToTypeIndex(String placeId, List<String> types) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] member = placeId.getBytes(StandardCharsets.UTF_8);
+            for (String type : types) {
+                if (type == null || type.isEmpty()) continue;
+                connection.setCommands().sAdd(typeSetKey(type).getBytes(StandardCharsets.UTF_8), member);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 이전 형식 type:<type> 리스트에 placeId 추가/제거 (이전 버전 인스턴스가 읽는 키)
+     * 이전 구현과 같은 GET → SET이라 동시 저장 시 유실될 수 있고 리스트 길이에 비례(O(n)). 기준 데이터는 typeset:<type>
+     * 이 버전이 모든 인스턴스에 배포된 다음 배포에서 redis.types.legacy-index-write=false로 끄고, 그 다음 배포에서 코드 삭제
+     */
+    private void updateLegacyTypeIndex(String placeId, List<String> types, boolean add) {
+        for (String type : types) {
+            if (type == null || type.isEmpty()) continue;
+            String legacyKey = LEGACY_TYPE_KEY_PREFIX + type;
+            List<String> placeIds = parsePlaceIdList(redisTemplate.opsForValue().get(legacyKey));
+            if (add == placeIds.contains(placeId)) continue;
+            if (add) {
+                placeIds.add(placeId);
+            } else {
+                placeIds.remove(placeId);
+            }
+            redisTemplate.opsForValue().set(legacyKey, placeIds);
+        }
+    }
+
+    /**
+     * 기존 type:<type> JSON 리스트를 typeset:<type> SET으로 이전
+     * KEYS 대신 SCAN으로 순회하고, 키마다 SADD 한 번. SADD는 멱등
+     * 이전 버전 인스턴스가 남아 있는 동안(legacy-index-write=true)은 그 인스턴스가 type:<type>에만 기록하므로
+     * 완료 표시 없이 주기적으로 다시 실행. legacy-index-write=false로 배포된 뒤 실행이 끝나면 완료 표시를 남겨 이후 SCAN 생략
+     * 기존 키는 삭제하지 않음 (이전 버전 인스턴스 호환)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${redis.types.legacy-migration-interval-ms:600000}",
+            initialDelayString = "${redis.types.legacy-migration-interval-ms:600000}")
+    public void migrateLegacyTypeIndex() {
+        final long t0 = System.nanoTime();
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(TYPE_INDEX_MIGRATED_KEY))) {
+                logger.info("[Redis] type index migration already done, skipped");
+                return;
+            }
+            List<String> legacyKeys = new ArrayList<>();
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+                ScanOptions options = ScanOptions.scanOptions().match(LEGACY_TYPE_KEY_PREFIX + "*").count(500).build();
+                try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                    while (cursor.hasNext()) {
+                        legacyKeys.add(new String(cursor.next(), StandardCharsets.UTF_8));
                     }
-                } else if (existing instanceof String) {
-                    // 혹시 문자열(JSON 등)로 저장되어 있는 경우를 방어적으로 처리
-                    try {
-                        java.util.List<String> parsed = objectMapper.readValue(
-                                (String) existing,
-                                new com.fasterxml.jackson.core.type.TypeReference<java.util.List<String>>() {}
-                        );
-                        placeIdList.addAll(parsed);
-                    } catch (Exception ignore) {
+                }
+                return null;
+            });
+
+            int migratedIds = 0;
+            for (String legacyKey : legacyKeys) {
+                String type = legacyKey.substring(LEGACY_TYPE_KEY_PREFIX.length());
+                List<String> placeIds = parsePlaceIdList(redisTemplate.opsForValue().get(legacyKey));
+                if (type.isEmpty() || placeIds.isEmpty()) continue;
+                stringRedisTemplate.opsForSet().add(typeSetKey(type), placeIds.toArray(new String[0]));
+                migratedIds += placeIds.size();
+            }
+            if (!writeLegacyTypeIndex) {
+                stringRedisTemplate.opsForValue().set(TYPE_INDEX_MIGRATED_KEY, String.valueOf(System.currentTimeMillis()));
+            }
+            logger.info("[Redis] type index migration: {} legacy keys, {} ids, done: {}, {}ms",
+                    legacyKeys.size(), migratedIds, !writeLegacyTypeIndex, (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            logger.error("[Redis] type index migration failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * bucketed 레이아웃 사용 시 types:<placeId> 키를 typesb:<bucket> 해시로 이전
+     * SCAN으로 순회하며 500개씩 MGET → 파이프라인 HSETNX (버킷에 이미 있는 place는 유지)
+     * 멱등이라 매 시작 시 실행해도 무방
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateTypesToBuckets() {
+        if (!typesHashStore.isEnabled()) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        try {
+            List<String> keys = new ArrayList<>();
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+                ScanOptions options = ScanOptions.scanOptions().match(typesKey("*")).count(500).build();
+                try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                    while (cursor.hasNext()) {
+                        keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
                     }
                 }
+                return null;
+            });
 
-                if (!placeIdList.contains(placeId)) {
-                    placeIdList.add(placeId);
+            int migrated = 0;
+            for (int from = 0; from < keys.size(); from += 500) {
+                List<String> batch = keys.subList(from, Math.min(from + 500, keys.size()));
+                List<Object> values = redisTemplate.opsForValue().multiGet(batch);
+                if (values == null) continue;
+                Map<String, List<String>> typesByPlaceId = new HashMap<>();
+                for (int i = 0; i < batch.size() && i < values.size(); i++) {
+                    List<String> types = toTypeList(values.get(i));
+                    if (types != null && !types.isEmpty()) {
+                        typesByPlaceId.put(batch.get(i).substring(typesKey("").length()), types);
+                    }
                 }
+                typesHashStore.putAllIfAbsent(typesByPlaceId);
+                migrated += typesByPlaceId.size();
+                if (deleteLegacyTypeKeys) {
+                    redisTemplate.delete(batch);
+                }
+            }
+            logger.info("[Redis] types bucket migration: {} keys, {} places, legacy keys deleted: {}, {}ms",
+                    keys.size(), migrated, deleteLegacyTypeKeys, (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            logger.error("[Redis] types bucket migration failed: {}", e.getMessage(), e);
+        }
+    }
 
-                redisTemplate.opsForValue().set(typeKey, placeIdList);
-                System.out.println("Updated type key: " + typeKey + " with placeIds: " + placeIdList);
+    private List<String> parsePlaceIdList(Object value) {
+        List<String> placeIds = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object o : list) {
+                if (o != null) placeIds.add(o.toString());
             }
+        } else if (value instanceof String str) {
+            try {
+                placeIds.addAll(objectMapper.readValue(str, new TypeReference<List<String>>() {}));
+            } catch (Exception ignore) {
+            }
+        }
+        return placeIds;
+    }
 
-            // 기본적인 존재 여부만 확인 (디버그 용)
-            Boolean exists = redisTemplate.hasKey(placeTypesKey);
-            System.out.println("Place types key exists check: " + (exists != null && exists ? "YES" : "NO"));
-        } catch (Exception e) {
-            System.err.println("ERROR: Exception in setTypes for place: " + placeId + " - " + e.getMessage());
-            System.err.println("Exception class: " + e.getClass().getName());
-            e.printStackTrace();
+    private static List<String> typeSetKeys(Collection<String> types) {
+        List<String> keys = new ArrayList<>();
+        if (types == null) {
+            return keys;
+        }
+        for (String type : types) {
+            if (type != null && !type.isEmpty()) {
+                keys.add(typeSetKey(type));
+            }
         }
+        return keys;
     }
 
-    /**
-     * place_id로 types 삭제
-     * @param placeId Google Places place_id
-     */
-    public void deleteTypes(String placeId) {
-        String key = "types:" + placeId;
-        redisTemplate.delete(key);
+    private static String typeSetKey(String type) {
+        return TYPE_SET_KEY_PREFIX + type;
     }
 }
 
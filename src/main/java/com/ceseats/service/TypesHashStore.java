@@ -0,0 +1,251 @@
+package com.ceseats.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * place types 버킷 해시 저장소 (redis.types.layout=bucketed)
+ * place마다 top-level 키(types:<placeId>)를 두는 대신 placeId 해시로 나눈 작은 Redis 해시에 모아 저장
+ *   typesb:<bucket>  field = placeId, value = "type1,type2,..." (순서 유지)
+ *
+ * 버킷당 field 수가 hash-max-listpack-entries(기본 128) 이하로 유지되도록 bucket-count를 잡으면
+ * Redis가 listpack으로 인코딩하여 키당 오버헤드(dictEntry, robj, 만료 정보 등)가 사라짐
+ * 예: 장소 10만 개 → bucket-count 1024 (버킷당 약 100개)
+ *
+ * 값 하나라도 hash-max-listpack-value(기본 64바이트)를 넘으면 그 버킷 전체가 hashtable 인코딩으로 바뀜
+ * type 이름을 그대로 이으면 흔히 64바이트를 넘으므로(restaurant,food,point_of_interest,establishment,...)
+ * write-compact-values=true면 TYPE_CODES에 있는 type은 순번(10진수)으로 기록 ("0,1,2,3")
+ * Google type 이름에는 숫자가 없으므로 읽을 때 숫자 토큰만 순번으로 해석 (이전 형식 값도 그대로 읽힘)
+ * 시작 시 Redis 설정을 읽어 버킷 크기/값 길이가 listpack 한도를 넘으면 경고
+ *
+ * 버킷 번호는 String.hashCode 기반이라 JVM/인스턴스가 달라도 같은 값
+ */
+@Slf4j
+@Component
+public class TypesHashStore {
+
+    public static final String LAYOUT_BUCKETED = "bucketed";
+
+    private static final String BUCKET_KEY_PREFIX = "typesb:";
+    private static final String SEPARATOR = ",";
+
+    // 순번 = 인덱스. 저장된 값과 호환되도록 순서를 바꾸지 않고 맨 뒤에만 추가
+    private static final List<String> TYPE_CODES = List.of(
+            "point_of_interest", "establishment", "food", "restaurant", "cafe", "bar",
+            "bakery", "meal_takeaway", "meal_delivery", "night_club", "store", "liquor_store",
+            "shopping_mall", "supermarket", "convenience_store", "grocery_or_supermarket", "coffee_shop", "fast_food_restaurant",
+            "fast_food", "lodging", "tourist_attraction", "casino", "health", "finance",
+            "american_restaurant", "mexican_restaurant", "italian_restaurant", "japanese_restaurant", "chinese_restaurant", "korean_restaurant",
+            "thai_restaurant", "vietnamese_restaurant", "indian_restaurant", "pizza_restaurant", "hamburger_restaurant", "sushi_restaurant",
+            "seafood_restaurant", "steak_house", "breakfast_restaurant", "brunch_restaurant", "sandwich_shop", "ice_cream_shop",
+            "dessert_shop", "wine_bar", "pub", "buffet_restaurant", "fine_dining_restaurant", "vegetarian_restaurant");
+
+    private static final Map<String, Integer> CODE_BY_TYPE = new HashMap<>();
+
+    static {
+        for (int i = 0; i < TYPE_CODES.size(); i++) {
+            CODE_BY_TYPE.put(TYPE_CODES.get(i), i);
+        }
+    }
+
+    // Redis 기본값. 시작 시 CONFIG GET으로 실제 값을 읽음 (CONFIG가 막힌 환경이면 기본값 가정)
+    private static final int DEFAULT_LISTPACK_VALUE = 64;
+    private static final int DEFAULT_LISTPACK_ENTRIES = 128;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    // key(기본): types:<placeId> 키 | bucketed: typesb:<bucket> 해시
+    @Value("${redis.types.layout:key}")
+    private String layout;
+
+    @Value("${redis.types.bucket-count:1024}")
+    private int bucketCount;
+
+    // 순번 형식으로 기록 (false면 이름 그대로. 이전 버전은 순번 형식을 읽지 못하므로 모든 인스턴스 배포 후 true)
+    @Value("${redis.types.write-compact-values:false}")
+    private boolean writeCompactValues;
+
+    private volatile int listpackValueLimit = DEFAULT_LISTPACK_VALUE;
+    private volatile boolean oversizedValueWarned;
+
+    public boolean isEnabled() {
+        return LAYOUT_BUCKETED.equalsIgnoreCase(layout);
+    }
+
+    /**
+     * hash-max-listpack-entries/value 확인. 버킷이 listpack으로 유지되지 않는 설정이면 경고
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkListpackLimits() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Properties config = stringRedisTemplate.execute((RedisCallback<Properties>) connection ->
+                    connection.serverCommands().getConfig("hash-max-listpack-*"));
+            int maxEntries = intConfig(config, "hash-max-listpack-entries", DEFAULT_LISTPACK_ENTRIES);
+            listpackValueLimit = intConfig(config, "hash-max-listpack-value", DEFAULT_LISTPACK_VALUE);
+            log.info("[TypesHashStore] hash-max-listpack-entries={}, hash-max-listpack-value={}, compact values: {}",
+                    maxEntries, listpackValueLimit, writeCompactValues);
+            if (!writeCompactValues) {
+                log.warn("[TypesHashStore] type names are written as-is; values over {} bytes turn their bucket into a hashtable "
+                        + "(set redis.types.write-compact-values=true once every instance runs this version)", listpackValueLimit);
+            }
+            if (maxEntries < DEFAULT_LISTPACK_ENTRIES) {
+                log.warn("[TypesHashStore] hash-max-listpack-entries={} is below the default; raise redis.types.bucket-count "
+                        + "so buckets stay under it", maxEntries);
+            }
+        } catch (Exception e) {
+            log.info("[TypesHashStore] CONFIG GET unavailable, assuming listpack defaults: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 단건 조회 (HGET). 없으면 null
+     */
+    public List<String> get(String placeId) {
+        Object value = stringRedisTemplate.opsForHash().get(bucketKey(placeId), placeId);
+        return value != null ? split(value.toString()) : null;
+    }
+
+    /**
+     * 여러 place 조회. 버킷별로 묶어 HMGET을 파이프라인으로 한 번에 전송
+     * @return placeIds와 같은 순서의 types (없으면 null 원소)
+     */
+    public List<List<String>> multiGet(List<String> placeIds) {
+        List<List<String>> result = new ArrayList<>(placeIds.size());
+        for (int i = 0; i < placeIds.size(); i++) {
+            result.add(null);
+        }
+        if (placeIds.isEmpty()) {
+            return result;
+        }
+        Map<String, List<Integer>> positionsByBucket = new LinkedHashMap<>();
+        for (int i = 0; i < placeIds.size(); i++) {
+            positionsByBucket.computeIfAbsent(bucketKey(placeIds.get(i)), k -> new ArrayList<>()).add(i);
+        }
+        List<String> bucketKeys = new ArrayList<>(positionsByBucket.keySet());
+        List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String bucketKey : bucketKeys) {
+                List<Integer> positions = positionsByBucket.get(bucketKey);
+                byte[][] fields = new byte[positions.size()][];
+                for (int j = 0; j < positions.size(); j++) {
+                    fields[j] = bytes(placeIds.get(positions.get(j)));
+                }
+                connection.hashCommands().hMGet(bytes(bucketKey), fields);
+            }
+            return null;
+        });
+        for (int b = 0; b < bucketKeys.size() && b < replies.size(); b++) {
+            if (!(replies.get(b) instanceof List<?> values)) continue;
+            List<Integer> positions = positionsByBucket.get(bucketKeys.get(b));
+            for (int j = 0; j < positions.size() && j < values.size(); j++) {
+                Object value = values.get(j);
+                if (value != null) {
+                    result.set(positions.get(j), split(value.toString()));
+                }
+            }
+        }
+        return result;
+    }
+
+    public void put(String placeId, Collection<String> types) {
+        stringRedisTemplate.opsForHash().put(bucketKey(placeId), placeId, value(types));
+    }
+
+    /**
+     * 버킷에 없는 place만 저장 (마이그레이션용, 파이프라인 HSETNX)
+     * 이미 setTypes로 버킷에 쓴 최신 값을 이전 키 값으로 덮어쓰지 않음
+     */
+    public void putAllIfAbsent(Map<String, List<String>> typesByPlaceId) {
+        if (typesByPlaceId.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<String, List<String>> entry : typesByPlaceId.entrySet()) {
+                connection.hashCommands().hSetNX(bytes(bucketKey(entry.getKey())), bytes(entry.getKey()),
+                        bytes(value(entry.getValue())));
+            }
+            return null;
+        });
+    }
+
+    public void delete(String placeId) {
+        stringRedisTemplate.opsForHash().delete(bucketKey(placeId), placeId);
+    }
+
+    private String bucketKey(String placeId) {
+        return BUCKET_KEY_PREFIX + Math.floorMod(placeId.hashCode(), bucketCount);
+    }
+
+    private String value(Collection<String> types) {
+        String value = writeCompactValues ? encode(types) : String.join(SEPARATOR, types);
+        if (!oversizedValueWarned && value.length() > listpackValueLimit) {
+            oversizedValueWarned = true;
+            log.warn("[TypesHashStore] {}-byte types value exceeds hash-max-listpack-value ({}), bucket falls back to hashtable: {}",
+                    value.length(), listpackValueLimit, value);
+        }
+        return value;
+    }
+
+    /**
+     * TYPE_CODES에 있는 type은 순번, 없는 type은 이름 그대로 (순서 유지)
+     */
+    static String encode(Collection<String> types) {
+        StringBuilder sb = new StringBuilder();
+        for (String type : types) {
+            if (sb.length() > 0) {
+                sb.append(SEPARATOR);
+            }
+            Integer code = CODE_BY_TYPE.get(type);
+            sb.append(code != null ? code.toString() : type);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * encode 결과와 이전 형식(이름 그대로) 모두 읽음
+     */
+    static List<String> split(String value) {
+        if (value.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> types = new ArrayList<>(Arrays.asList(value.split(SEPARATOR)));
+        for (int i = 0; i < types.size(); i++) {
+            String token = types.get(i);
+            if (!token.isEmpty() && token.chars().allMatch(Character::isDigit)) {
+                int code = Integer.parseInt(token);
+                if (code < TYPE_CODES.size()) {
+                    types.set(i, TYPE_CODES.get(code));
+                }
+            }
+        }
+        return types;
+    }
+
+    private static int intConfig(Properties config, String name, int defaultValue) {
+        String value = config != null ? config.getProperty(name) : null;
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,265 @@
+package com.ceseats.service.cache;
+
+import com.ceseats.dto.StoreResponse;
+import com.ceseats.dto.response.PlaceResponse;
+import com.ceseats.service.geo.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 위치 기반 목록 응답 캐시 (장소 검색 / Basic 추천)
+ * 가까운 좌표의 요청을 같은 키로 묶어 변환이 끝난 후보 목록을 재사용
+ *
+ * - 키: 격자 cell + 반경 bucket + sortBy + limit (좌표/반경 보정은 키에만 적용)
+ * - 값: 같은 키의 어떤 요청(격자 안 임의 좌표, bucket 안 임의 반경)의 결과도 포함하는 후보 목록 (Cover 참고)
+ *   호출한 쪽에서 실제 좌표/반경으로 다시 거르고 정렬
+ * - 크기 제한(LRU) + TTL
+ * - 장소 저장 시 해당 좌표가 후보 범위에 들어가는 엔트리만 무효화
+ * 조회수처럼 자주 바뀌는 값은 캐시 hit 후 호출한 쪽에서 덮어씀
+ */
+@Slf4j
+@Component
+public class GeoResponseCache {
+
+    @Value("${cache.geo-response.enabled:true}")
+    private boolean enabled;
+
+    // 격자 크기 (도). 0.001도 ≈ 위도 111m
+    @Value("${cache.geo-response.cell-size-deg:0.001}")
+    private double cellSizeDeg;
+
+    // 반경 bucket (미터)
+    @Value("${cache.geo-response.radius-bucket-m:100}")
+    private int radiusBucketMeters;
+
+    @Value("${cache.geo-response.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${cache.geo-response.max-entries:2000}")
+    private int maxEntries;
+
+    private final Map<Key, CacheEntry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청이 속한 캐시 키의 후보 범위 (격자 중심 기준)
+     */
+    public Cover coverOf(double latitude, double longitude, int radiusMeters) {
+        double centerLatitude = cellCenter(latitude);
+        double centerLongitude = cellCenter(longitude);
+        return new Cover(centerLatitude, centerLongitude,
+                coverRadiusKm(centerLatitude, radiusBucketOf(radiusMeters)), cellSlackKm(centerLatitude));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<PlaceResponse> getPlaceSearch(double latitude, double longitude, int radiusMeters, String sortBy, Integer limit) {
+        return (List<PlaceResponse>) get(key("search", latitude, longitude, radiusMeters, sortBy, limit));
+    }
+
+    public void putPlaceSearch(double latitude, double longitude, int radiusMeters, String sortBy, Integer limit,
+                               List<PlaceResponse> candidates) {
+        put(key("search", latitude, longitude, radiusMeters, sortBy, limit), List.copyOf(candidates));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<StoreResponse> getRecommendations(double latitude, double longitude, int radiusMeters, Integer limit) {
+        return (List<StoreResponse>) get(key("recommendations", latitude, longitude, radiusMeters, null, limit));
+    }
+
+    public void putRecommendations(double latitude, double longitude, int radiusMeters, Integer limit,
+                                   List<StoreResponse> candidates) {
+        put(key("recommendations", latitude, longitude, radiusMeters, null, limit), List.copyOf(candidates));
+    }
+
+    /**
+     * 새 장소가 저장되면 그 장소가 결과에 포함될 수 있는 엔트리 무효화
+     */
+    public void invalidateNear(Double latitude, Double longitude) {
+        if (!enabled) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            invalidateAll();
+            return;
+        }
+        int removed = 0;
+        synchronized (entries) {
+            Iterator<Key> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                Key key = it.next();
+                double centerLatitude = cellCenter(key.latCell);
+                double distanceKm = GeoUtils.distanceKm(centerLatitude, cellCenter(key.lonCell), latitude, longitude);
+                if (distanceKm <= coverRadiusKm(centerLatitude, key.radiusMeters)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            log.debug("[GeoResponseCache] invalidated {} entries near ({}, {})", removed, latitude, longitude);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    private Object get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(ttlSeconds)) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    private void put(Key key, Object value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new CacheEntry(value));
+            if (entries.size() > maxEntries) {
+                // access-order LinkedHashMap의 첫 원소 = 가장 오래 사용되지 않은 엔트리
+                Iterator<Key> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private Key key(String kind, double latitude, double longitude, int radiusMeters, String sortBy, Integer limit) {
+        return new Key(kind, cellOf(latitude), cellOf(longitude), radiusBucketOf(radiusMeters), sortBy, limit);
+    }
+
+    /**
+     * 반경을 bucket 단위로 보정 (미터, 키 전용)
+     */
+    private int radiusBucketOf(int radiusMeters) {
+        if (radiusBucketMeters <= 0) {
+            return radiusMeters;
+        }
+        long buckets = Math.max(1, Math.round((double) radiusMeters / radiusBucketMeters));
+        return (int) (buckets * radiusBucketMeters);
+    }
+
+    /**
+     * 격자 중심 기준 후보 반경 = bucket에 들어오는 최대 반경 + 격자 중심과 모서리 간 거리
+     */
+    private double coverRadiusKm(double centerLatitude, int radiusBucket) {
+        double maxRadiusMeters = radiusBucketMeters > 0 ? radiusBucket + radiusBucketMeters / 2.0 : radiusBucket;
+        return maxRadiusMeters / 1000.0 + cellSlackKm(centerLatitude);
+    }
+
+    /**
+     * 격자 중심과 가장 먼 모서리 간 거리 (km). 적도 쪽 모서리의 경도 폭이 더 넓음
+     */
+    private double cellSlackKm(double centerLatitude) {
+        double half = cellSizeDeg / 2;
+        return GeoUtils.distanceKm(centerLatitude, 0.0, centerLatitude - Math.copySign(half, centerLatitude), half);
+    }
+
+    private long cellOf(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDeg);
+    }
+
+    private double cellCenter(long cell) {
+        return (cell + 0.5) * cellSizeDeg;
+    }
+
+    private double cellCenter(double degrees) {
+        return cellCenter(cellOf(degrees));
+    }
+
+    /**
+     * 캐시 키 하나의 후보 범위
+     * 격자 안의 요청 좌표 p와 중심 c의 거리는 slackKm 이하이므로, 중심 기준 radiusKm 안의 장소에 p 기준 요청 반경 안의 장소가 모두 포함됨
+     * @param latitude 격자 중심 위도
+     * @param longitude 격자 중심 경도
+     * @param radiusKm 격자 중심 기준 조회 반경
+     * @param slackKm 격자 중심과 격자 안 좌표 간 최대 거리
+     */
+    public record Cover(double latitude, double longitude, double radiusKm, double slackKm) {
+
+        public double distanceKm(double latitude, double longitude) {
+            return GeoUtils.distanceKm(this.latitude, this.longitude, latitude, longitude);
+        }
+
+        /**
+         * 후보 범위 안의 장소 중, 격자 안 어느 좌표에서든 거리순 상위 limit개에 들 수 있는 장소만 남김 (중심 기준 거리 오름차순)
+         * p 기준 상위 limit개의 장소 x는 d(c, x) ≤ d(c, 중심 기준 limit번째) + 2 * slackKm
+         * @param limit null이면 전체
+         */
+        public <T> List<T> candidatesFor(List<T> stores, ToDoubleFunction<T> centerDistanceKm, Integer limit) {
+            List<T> sorted = new ArrayList<>(stores);
+            sorted.sort(Comparator.comparingDouble(centerDistanceKm));
+            if (limit == null || sorted.size() <= limit) {
+                return sorted;
+            }
+            double boundKm = centerDistanceKm.applyAsDouble(sorted.get(limit - 1)) + 2 * slackKm;
+            int end = limit;
+            while (end < sorted.size() && centerDistanceKm.applyAsDouble(sorted.get(end)) <= boundKm) {
+                end++;
+            }
+            return new ArrayList<>(sorted.subList(0, end));
+        }
+    }
+
+    private record Key(String kind, long latCell, long lonCell, int radiusMeters, String sortBy, Integer limit) {
+    }
+
+    /**
+     * 캐시 엔트리 (CacheService.CacheEntry와 같은 방식, TTL은 초 단위)
+     */
+    private static class CacheEntry {
+        private final Object value;
+        private final long createdAtMillis;
+
+        CacheEntry(Object value) {
+            this.value = value;
+            this.createdAtMillis = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - createdAtMillis > ttlSeconds * 1000L;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.ceseats.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * place types 로컬 near-cache (ReviewService.getTypes 앞단)
+ * types는 저장 후 거의 바뀌지 않으므로 JVM 안에서 대부분 처리
+ *
+ * - 크기 제한(LRU) + TTL (무효화 메시지를 놓친 경우 대비)
+ * - setTypes/deleteTypes 시 Redis pub/sub(types:invalidate)으로 모든 인스턴스(blue/green)에 무효화 전파
+ * - types가 없는 place도 캐시 (EMPTY)하여 반복 조회 방지
+ * - Redis 조회 전에 stamp()를 받아 put에 넘기면, 조회 중에 무효화된 키는 저장하지 않음 (이전 값이 TTL 동안 남는 것 방지)
+ */
+@Slf4j
+@Component
+public class TypesNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "types:invalidate";
+
+    private static final List<String> EMPTY = Collections.emptyList();
+
+    // 무효화 세대 stripe 수 (2의 거듭제곱). 같은 stripe의 다른 키가 무효화되면 put이 한 번 생략될 뿐
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${cache.types.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.types.max-entries:20000}")
+    private int maxEntries;
+
+    @Value("${cache.types.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    void subscribe() {
+        if (enabled) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+
+    /**
+     * 캐시된 types 조회
+     * @return 캐시에 없으면 null, types가 없는 place로 캐시되어 있으면 빈 리스트
+     */
+    public List<String> get(String placeId) {
+        if (!enabled || placeId == null) {
+            return null;
+        }
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(placeId);
+            if (entry != null && entry.isExpired(ttlSeconds)) {
+                entries.remove(placeId);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.types;
+    }
+
+    /**
+     * 현재 무효화 세대 (Redis 조회 전에 받아서 put에 전달)
+     */
+    public long stamp(String placeId) {
+        return placeId != null ? generations.get(stripeOf(placeId)) : 0L;
+    }
+
+    /**
+     * Redis에서 읽은 types 저장 (null이면 types 없음으로 저장)
+     * stamp 이후 이 키가 무효화되었으면 읽은 값이 이전 값일 수 있으므로 저장하지 않음
+     */
+    public void put(String placeId, List<String> types, long stamp) {
+        if (!enabled || placeId == null) {
+            return;
+        }
+        List<String> value = types == null || types.isEmpty()
+                ? EMPTY : Collections.unmodifiableList(new ArrayList<>(types));
+        synchronized (entries) {
+            // evict도 같은 잠금 안에서 세대를 올리므로 확인과 저장 사이에 무효화가 끼어들지 않음
+            if (generations.get(stripeOf(placeId)) != stamp) {
+                return;
+            }
+            entries.put(placeId, new CacheEntry(value));
+            if (entries.size() > maxEntries) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * 로컬 캐시에서 제거하고 다른 인스턴스에도 무효화 메시지 발행
+     */
+    public void invalidate(String placeId) {
+        if (!enabled || placeId == null) {
+            return;
+        }
+        evict(placeId);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, placeId);
+        } catch (Exception e) {
+            // 발행 실패 시 다른 인스턴스는 TTL 만료 후 반영
+            log.warn("[TypesNearCache] invalidation publish failed for placeId {}: {}", placeId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private void evict(String placeId) {
+        synchronized (entries) {
+            generations.incrementAndGet(stripeOf(placeId));
+            entries.remove(placeId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    private static int stripeOf(String placeId) {
+        return placeId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private static class CacheEntry {
+        private final List<String> types;
+        private final long createdAtMillis;
+
+        CacheEntry(List<String> types) {
+            this.types = types;
+            this.createdAtMillis = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long ttlSeconds) {
+            return System.currentTimeMillis() - createdAtMillis > ttlSeconds * 1000L;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ceseats.service.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * 크기가 k로 제한된 힙을 이용한 상위 k개 부분 선택
+ * 전체 정렬 O(n log n) 대신 O(n log k), 메모리 O(k)
+ * comparator 기준으로 앞서는(작은) 원소가 상위. 동률이면 먼저 들어온 원소가 상위 (stable)
+ */
+public class BoundedTopK<T> implements Consumer<T> {
+
+    private final int k;
+    private final Comparator<T> comparator;
+    // head = 현재 k개 중 가장 뒤처지는 원소
+    private final PriorityQueue<Entry<T>> heap;
+    private long sequence;
+
+    public BoundedTopK(int k, Comparator<T> comparator) {
+        this.k = Math.max(0, k);
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(this.k, 256)), entryOrder().reversed());
+    }
+
+    @Override
+    public void accept(T item) {
+        if (k == 0) {
+            return;
+        }
+        Entry<T> entry = new Entry<>(item, sequence++);
+        if (heap.size() < k) {
+            heap.add(entry);
+            return;
+        }
+        // 나중에 들어온 원소는 동률일 때 뒤처지므로, 엄격히 앞설 때만 교체
+        if (comparator.compare(item, heap.peek().item) < 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    /**
+     * 상위 k개 (comparator 순서대로 정렬됨)
+     */
+    public List<T> getResult() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(entryOrder());
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            result.add(entry.item);
+        }
+        return result;
+    }
+
+    public static <T> List<T> select(Iterable<T> items, int k, Comparator<T> comparator) {
+        BoundedTopK<T> topK = new BoundedTopK<>(k, comparator);
+        for (T item : items) {
+            topK.accept(item);
+        }
+        return topK.getResult();
+    }
+
+    private Comparator<Entry<T>> entryOrder() {
+        Comparator<Entry<T>> byItem = (a, b) -> comparator.compare(a.item, b.item);
+        return byItem.thenComparingLong(e -> e.sequence);
+    }
+
+    private record Entry<T>(T item, long sequence) {
+    }
+}
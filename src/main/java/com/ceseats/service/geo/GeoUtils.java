@@ -0,0 +1,50 @@
+package com.ceseats.service.geo;
+
+/**
+ * 위경도 거리 계산 유틸
+ * StoreRepository의 Haversine 쿼리와 같은 지구 반경(6371km)을 사용
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    /** 위도 1도당 거리 (km) */
+    public static final double KM_PER_DEGREE_LAT = 111.045;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 지점 간 거리 계산 (Haversine 공식, km)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    /**
+     * 반경(km)을 위도 차이(도)로 변환 (bounding box 계산용)
+     */
+    public static double latDeltaDegrees(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+
+    /**
+     * 반경(km)을 해당 위도에서의 경도 차이(도)로 변환 (bounding box 계산용)
+     * 극지방에서 cos 값이 0에 가까워지는 경우 경도 전체(180도)로 제한
+     */
+    public static double lonDeltaDegrees(double latitude, double radiusKm) {
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        if (cosLat < 1e-6) {
+            return 180.0;
+        }
+        return Math.min(180.0, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+    }
+}
@@ -0,0 +1,188 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.repository.StoreSummary;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CES 전시장 등 요청이 몰리는 고정 지점(hotspot) 목록과 미리 계산한 주변 장소 목록
+ * hotspot × 표준 반경마다 hotspot 중심 (반경 + tolerance) 안의 후보를 보관하고,
+ * tolerance 안의 요청은 가장 가까운 hotspot 후보를 요청 좌표 기준 거리로 다시 거르고 정렬하여 사용 (공간 조회 생략)
+ * 요청 좌표가 hotspot에서 tolerance 이내이므로, 요청 반경 안의 장소는 모두 후보에 포함됨
+ *
+ * 목록 계산/갱신은 StoreGeoService가 담당 (시작 시, 주기적으로)
+ * 장소 저장 시에는 해당 목록을 dirty로 표시하고, 다시 계산될 때까지 lookup은 null (공간 조회로 fallback)
+ */
+@Slf4j
+@Component
+public class HotspotRegistry {
+
+    @Value("${hotspot.enabled:true}")
+    private boolean enabled;
+
+    // "이름|위도|경도;이름|위도|경도;..."
+    @Value("${hotspot.locations:}")
+    private String locationsProperty;
+
+    // 미리 계산할 반경 (미터, 쉼표 구분)
+    @Value("${hotspot.radii-m:1000,3000,5000}")
+    private String radiiProperty;
+
+    // 이 거리(미터) 안의 요청은 hotspot 중심 요청으로 간주
+    @Value("${hotspot.snap-tolerance-m:150}")
+    private int snapToleranceMeters;
+
+    private final List<Hotspot> hotspots = new ArrayList<>();
+    private final List<Integer> radiiMeters = new ArrayList<>();
+    private final Map<String, List<StoreSummary>> neighbourhoods = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void parse() {
+        if (locationsProperty != null) {
+            for (String entry : locationsProperty.split(";")) {
+                if (entry.isBlank()) continue;
+                String[] parts = entry.split("\\|");
+                if (parts.length != 3) {
+                    log.warn("[HotspotRegistry] invalid hotspot entry ignored: {}", entry);
+                    continue;
+                }
+                try {
+                    hotspots.add(new Hotspot(parts[0].trim(), Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim())));
+                } catch (NumberFormatException e) {
+                    log.warn("[HotspotRegistry] invalid hotspot entry ignored: {}", entry);
+                }
+            }
+        }
+        for (String radius : radiiProperty.split(",")) {
+            if (!radius.isBlank()) {
+                radiiMeters.add(Integer.parseInt(radius.trim()));
+            }
+        }
+        log.info("[HotspotRegistry] {} hotspots, radii {}m", hotspots.size(), radiiMeters);
+    }
+
+    public boolean isEnabled() {
+        return enabled && !hotspots.isEmpty();
+    }
+
+    public List<Hotspot> getHotspots() {
+        return Collections.unmodifiableList(hotspots);
+    }
+
+    public List<Integer> getRadiiMeters() {
+        return Collections.unmodifiableList(radiiMeters);
+    }
+
+    /**
+     * 요청 좌표/반경이 hotspot의 표준 반경 요청이면 미리 계산한 후보 중 요청 반경 안의 장소 (요청 좌표 기준 거리 오름차순), 아니면 null
+     */
+    public List<StoreSummary> lookup(double latitude, double longitude, double radiusKm) {
+        return lookup(latitude, longitude, radiusKm, null);
+    }
+
+    /**
+     * @param limit 요청 좌표 기준 가까운 limit개만 (null이면 전체)
+     */
+    public List<StoreSummary> lookup(double latitude, double longitude, double radiusKm, Integer limit) {
+        if (!isEnabled()) {
+            return null;
+        }
+        int radiusMeters = (int) Math.round(radiusKm * 1000);
+        if (!radiiMeters.contains(radiusMeters)) {
+            return null;
+        }
+        Hotspot nearest = null;
+        double nearestKm = snapToleranceMeters / 1000.0;
+        for (Hotspot hotspot : hotspots) {
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, hotspot.latitude(), hotspot.longitude());
+            if (distanceKm <= nearestKm) {
+                nearest = hotspot;
+                nearestKm = distanceKm;
+            }
+        }
+        if (nearest == null) {
+            return null;
+        }
+        String key = key(nearest, radiusMeters);
+        List<StoreSummary> precomputed = neighbourhoods.get(key);
+        if (precomputed == null || dirty.contains(key)) {
+            return null;
+        }
+
+        List<Ranked> inRadius = new ArrayList<>();
+        for (StoreSummary store : precomputed) {
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, store.getLatitude(), store.getLongitude());
+            if (distanceKm <= radiusKm) {
+                inRadius.add(new Ranked(store, distanceKm));
+            }
+        }
+        Comparator<Ranked> byDistance = Comparator.comparingDouble(Ranked::distanceKm);
+        if (limit != null) {
+            inRadius = BoundedTopK.select(inRadius, limit, byDistance);
+        } else {
+            inRadius.sort(byDistance);
+        }
+        List<StoreSummary> result = new ArrayList<>(inRadius.size());
+        for (Ranked store : inRadius) {
+            result.add(store.store());
+        }
+        return result;
+    }
+
+    /**
+     * 미리 계산할 hotspot 중심 반경 (km) = 표준 반경 + tolerance
+     */
+    public double coverRadiusKm(int radiusMeters) {
+        return (radiusMeters + snapToleranceMeters) / 1000.0;
+    }
+
+    /**
+     * hotspot 중심 coverRadiusKm 조회 결과로 후보 목록 교체
+     * 호출 전에 clearDirty로 표시를 지우고 조회하므로, 조회 중 저장된 장소는 dirty로 남아 다음 갱신에서 반영
+     */
+    public void put(Hotspot hotspot, int radiusMeters, List<? extends StoreSummary> stores) {
+        neighbourhoods.put(key(hotspot, radiusMeters), Collections.unmodifiableList(new ArrayList<StoreSummary>(stores)));
+    }
+
+    /**
+     * 주어진 좌표가 후보 범위 안에 들어가는 hotspot 목록이면 dirty로 표시
+     */
+    public void markDirtyIfCovers(Hotspot hotspot, int radiusMeters, double latitude, double longitude) {
+        if (GeoUtils.distanceKm(hotspot.latitude(), hotspot.longitude(), latitude, longitude) <= coverRadiusKm(radiusMeters)) {
+            dirty.add(key(hotspot, radiusMeters));
+        }
+    }
+
+    public void markDirty(Hotspot hotspot, int radiusMeters) {
+        dirty.add(key(hotspot, radiusMeters));
+    }
+
+    public boolean isDirty(Hotspot hotspot, int radiusMeters) {
+        return dirty.contains(key(hotspot, radiusMeters));
+    }
+
+    public void clearDirty(Hotspot hotspot, int radiusMeters) {
+        dirty.remove(key(hotspot, radiusMeters));
+    }
+
+    private static String key(Hotspot hotspot, int radiusMeters) {
+        return hotspot.name() + ":" + radiusMeters;
+    }
+
+    public record Hotspot(String name, double latitude, double longitude) {
+    }
+
+    private record Ranked(StoreSummary store, double distanceKm) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.entity.Store;
+import com.ceseats.repository.StoreLocation;
+import com.ceseats.repository.StoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.domain.geo.GeoReference;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis GEO 기반 공유 공간 인덱스 (store.spatial.backend=redis)
+ * stores:geo (member = place_id) 하나를 여러 인스턴스가 함께 사용
+ *
+ * - 시작 시 PostgreSQL에서 전체 backfill (GEOADD는 덮어쓰기라 인스턴스마다 실행해도 무방)
+ * - 장소 저장 시 GEOADD
+ * - 조회는 GEOSEARCH BYRADIUS ... ASC [COUNT n], 결과는 place_id + 거리(km)
+ */
+@Slf4j
+@Component
+public class RedisGeoStoreIndex {
+
+    public static final String BACKEND_REDIS = "redis";
+
+    private static final String GEO_KEY = "stores:geo";
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Value("${store.spatial.backend:haversine}")
+    private String spatialBackend;
+
+    private volatile boolean ready;
+
+    public boolean isEnabled() {
+        return BACKEND_REDIS.equalsIgnoreCase(spatialBackend);
+    }
+
+    /**
+     * backfill 완료 후 조회 가능
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    // hotspot 목록 계산(StoreGeoService.refreshHotspots)보다 먼저 로딩
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void backfillOnStartup() {
+        if (!isEnabled()) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        try {
+            Map<String, Point> batch = new HashMap<>();
+            int count = 0;
+            for (StoreLocation store : storeRepository.findAllLocations()) {
+                if (store.getLatitude() == null || store.getLongitude() == null) continue;
+                batch.put(store.getPlaceId(), new Point(store.getLongitude(), store.getLatitude()));
+                if (batch.size() >= BACKFILL_BATCH_SIZE) {
+                    stringRedisTemplate.opsForGeo().add(GEO_KEY, batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                stringRedisTemplate.opsForGeo().add(GEO_KEY, batch);
+                count += batch.size();
+            }
+            ready = true;
+            log.info("[RedisGeoStoreIndex] backfilled {} stores into {}: {}ms",
+                    count, GEO_KEY, (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            // 실패 시 StoreGeoService가 인메모리 인덱스/DB 쿼리로 fallback
+            log.error("[RedisGeoStoreIndex] backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 새로 저장된 장소 반영
+     */
+    public void add(Store store) {
+        if (!isEnabled() || store == null || store.getPlaceId() == null
+                || store.getLatitude() == null || store.getLongitude() == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForGeo().add(GEO_KEY, new Point(store.getLongitude(), store.getLatitude()), store.getPlaceId());
+        } catch (Exception e) {
+            log.warn("[RedisGeoStoreIndex] GEOADD failed for placeId {}: {}", store.getPlaceId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 반경 내 place_id 조회 (거리 오름차순)
+     * @param limit 최대 개수 (null이면 전체)
+     */
+    public List<PlaceDistance> search(double latitude, double longitude, double radiusKm, Integer limit) {
+        RedisGeoCommands.GeoSearchCommandArgs args = RedisGeoCommands.GeoSearchCommandArgs.newGeoSearchArgs()
+                .includeDistance()
+                .sortAscending();
+        if (limit != null) {
+            args = args.limit(limit);
+        }
+        GeoResults<RedisGeoCommands.GeoLocation<String>> results = stringRedisTemplate.opsForGeo().search(
+                GEO_KEY,
+                GeoReference.fromCoordinate(longitude, latitude),
+                new Distance(radiusKm, Metrics.KILOMETERS),
+                args);
+
+        List<PlaceDistance> placeDistances = new ArrayList<>();
+        if (results == null) {
+            return placeDistances;
+        }
+        for (GeoResult<RedisGeoCommands.GeoLocation<String>> result : results) {
+            placeDistances.add(new PlaceDistance(result.getContent().getName(), result.getDistance().getValue()));
+        }
+        return placeDistances;
+    }
+
+    /**
+     * 주어진 place_id들의 좌표 조회 (GEOPOS). 없는 id는 결과에서 제외
+     */
+    public Map<String, Point> positions(List<String> placeIds) {
+        Map<String, Point> positions = new HashMap<>();
+        if (placeIds.isEmpty()) {
+            return positions;
+        }
+        List<Point> points = stringRedisTemplate.opsForGeo().position(GEO_KEY, placeIds.toArray(new String[0]));
+        if (points == null) {
+            return positions;
+        }
+        for (int i = 0; i < placeIds.size() && i < points.size(); i++) {
+            if (points.get(i) != null) {
+                positions.put(placeIds.get(i), points.get(i));
+            }
+        }
+        return positions;
+    }
+
+    public record PlaceDistance(String placeId, double distanceKm) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.ceseats.service.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Reservoir sampling (Algorithm R)
+ * 전체 개수를 모르는 스트림에서 k개를 균등 확률로 추출. 전체 정렬(ORDER BY RANDOM()) 없이 O(n) 시간, O(k) 메모리
+ * 한 스레드 안에서만 사용 (요청마다 새로 생성)
+ */
+public class ReservoirSampler<T> implements Consumer<T> {
+
+    private final int size;
+    private final List<T> reservoir;
+    private long seen;
+
+    public ReservoirSampler(int size) {
+        this.size = Math.max(0, size);
+        this.reservoir = new ArrayList<>(this.size);
+    }
+
+    @Override
+    public void accept(T item) {
+        seen++;
+        if (reservoir.size() < size) {
+            reservoir.add(item);
+            return;
+        }
+        // i번째 원소는 size/i 확률로 reservoir의 임의 위치를 대체
+        long j = ThreadLocalRandom.current().nextLong(seen);
+        if (j < size) {
+            reservoir.set((int) j, item);
+        }
+    }
+
+    public List<T> getSample() {
+        return reservoir;
+    }
+
+    public static <T> List<T> sample(Iterable<T> items, int size) {
+        ReservoirSampler<T> sampler = new ReservoirSampler<>(size);
+        for (T item : items) {
+            sampler.accept(item);
+        }
+        return sampler.getSample();
+    }
+}
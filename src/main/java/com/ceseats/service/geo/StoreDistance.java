@@ -0,0 +1,9 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.repository.StoreLocation;
+
+/**
+ * 공간 인덱스 조회 결과 (장소 + 기준점으로부터의 거리)
+ */
+public record StoreDistance(StoreLocation store, double distanceKm) {
+}
@@ -0,0 +1,372 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.config.StoreSchemaInitializer;
+import com.ceseats.config.StoreTypesBackfill;
+import com.ceseats.entity.Store;
+import com.ceseats.repository.StoreLocation;
+import com.ceseats.repository.StoreRepository;
+import com.ceseats.repository.StoreSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.geo.Point;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 반경/최근접 장소 조회 진입점
+ * 0) hotspot 근처의 표준 반경 요청이면 HotspotRegistry에 미리 계산된 목록 사용
+ * 1) store.spatial.backend=redis 이고 Redis GEO가 준비되어 있으면 GEOSEARCH로 id를 찾고 인메모리 인덱스(없으면 DB)에서 로딩
+ * 2) 인메모리 공간 인덱스(StoreSpatialIndex)가 준비되어 있으면 인덱스로 처리
+ * 3) 둘 다 아니면 StoreRepository 쿼리로 fallback
+ * DB 쿼리는 store.spatial.backend 설정에 따라 Haversine(기본) 또는 PostGIS 사용
+ * 결과는 StoreSummary (인덱스: StoreLocation, DB: projection)
+ * 인덱스 결과에는 review가 없으므로 응답으로 변환하기 전에 withContent로 DB 행을 채움
+ * 서비스 레벨 트랜잭션 없음: 인덱스/hotspot/Redis 조회는 DB 커넥션을 잡지 않고, DB fallback 쿼리만 repository 호출 단위로 커넥션 사용
+ */
+@Slf4j
+@Service
+public class StoreGeoService {
+
+    @Autowired
+    private StoreSpatialIndex storeSpatialIndex;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StoreSchemaInitializer storeSchemaInitializer;
+
+    @Autowired
+    private RedisGeoStoreIndex redisGeoStoreIndex;
+
+    @Autowired
+    private HotspotRegistry hotspotRegistry;
+
+    @Autowired
+    private StoreTypesBackfill storeTypesBackfill;
+
+    /**
+     * 새로 저장된 장소를 인메모리 인덱스와 Redis GEO에 반영하고, 그 장소를 포함하는 hotspot 목록을 dirty로 표시
+     * 목록 재계산은 refreshDirtyHotspots가 모아서 처리 (저장마다 공간 조회를 반복하지 않음)
+     */
+    public void onStoreSaved(Store store) {
+        storeSpatialIndex.add(store);
+        redisGeoStoreIndex.add(store);
+        if (hotspotRegistry.isEnabled() && store.getLatitude() != null && store.getLongitude() != null) {
+            for (HotspotRegistry.Hotspot hotspot : hotspotRegistry.getHotspots()) {
+                for (int radiusMeters : hotspotRegistry.getRadiiMeters()) {
+                    hotspotRegistry.markDirtyIfCovers(hotspot, radiusMeters, store.getLatitude(), store.getLongitude());
+                }
+            }
+        }
+    }
+
+    /**
+     * hotspot 목록 전체 재계산 (시작 시 인덱스 로딩 이후, 이후 주기적으로)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Scheduled(fixedDelayString = "${hotspot.refresh-interval-ms:300000}",
+            initialDelayString = "${hotspot.refresh-interval-ms:300000}")
+    public void refreshHotspots() {
+        if (!hotspotRegistry.isEnabled()) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        for (HotspotRegistry.Hotspot hotspot : hotspotRegistry.getHotspots()) {
+            for (int radiusMeters : hotspotRegistry.getRadiiMeters()) {
+                refreshHotspot(hotspot, radiusMeters);
+            }
+        }
+        log.info("[StoreGeoService] hotspot neighbourhoods refreshed: {}ms", (System.nanoTime() - t0) / 1_000_000L);
+    }
+
+    /**
+     * 장소 저장으로 dirty 표시된 hotspot 목록만 재계산
+     */
+    @Scheduled(fixedDelayString = "${hotspot.dirty-refresh-interval-ms:10000}")
+    public void refreshDirtyHotspots() {
+        if (!hotspotRegistry.isEnabled()) {
+            return;
+        }
+        for (HotspotRegistry.Hotspot hotspot : hotspotRegistry.getHotspots()) {
+            for (int radiusMeters : hotspotRegistry.getRadiiMeters()) {
+                if (hotspotRegistry.isDirty(hotspot, radiusMeters)) {
+                    refreshHotspot(hotspot, radiusMeters);
+                }
+            }
+        }
+    }
+
+    private void refreshHotspot(HotspotRegistry.Hotspot hotspot, int radiusMeters) {
+        hotspotRegistry.clearDirty(hotspot, radiusMeters);
+        try {
+            hotspotRegistry.put(hotspot, radiusMeters,
+                    queryStoresWithinRadius(hotspot.latitude(), hotspot.longitude(), hotspotRegistry.coverRadiusKm(radiusMeters)));
+        } catch (Exception e) {
+            hotspotRegistry.markDirty(hotspot, radiusMeters);
+            log.warn("[StoreGeoService] hotspot {} ({}m) refresh failed: {}", hotspot.name(), radiusMeters, e.getMessage());
+        }
+    }
+
+    /**
+     * 반경 내 장소 조회 (거리 오름차순)
+     */
+    public List<StoreSummary> findStoresWithinRadius(double latitude, double longitude, double radiusKm) {
+        List<StoreSummary> precomputed = hotspotRegistry.lookup(latitude, longitude, radiusKm);
+        if (precomputed != null) {
+            return precomputed;
+        }
+        return queryStoresWithinRadius(latitude, longitude, radiusKm);
+    }
+
+    private List<StoreSummary> queryStoresWithinRadius(double latitude, double longitude, double radiusKm) {
+        if (redisGeoStoreIndex.isReady()) {
+            try {
+                return hydrate(placeIdsOf(redisGeoStoreIndex.search(latitude, longitude, radiusKm, null)));
+            } catch (Exception e) {
+                log.warn("[StoreGeoService] Redis GEO search failed, falling back: {}", e.getMessage());
+            }
+        }
+        if (storeSpatialIndex.isReady()) {
+            return toStores(storeSpatialIndex.findWithinRadius(latitude, longitude, radiusKm));
+        }
+        if (storeSchemaInitializer.isPostgisReady()) {
+            return storeRepository.findStoresWithinRadiusPostgis(latitude, longitude, radiusKm);
+        }
+        return storeRepository.findStoresWithinRadius(latitude, longitude, radiusKm);
+    }
+
+    /**
+     * 반경 내 가장 가까운 limit개 조회 (거리 오름차순)
+     */
+    public List<StoreSummary> findNearestStores(double latitude, double longitude, double radiusKm, int limit) {
+        List<StoreSummary> precomputed = hotspotRegistry.lookup(latitude, longitude, radiusKm, limit);
+        if (precomputed != null) {
+            return precomputed;
+        }
+        if (redisGeoStoreIndex.isReady()) {
+            try {
+                return hydrate(placeIdsOf(redisGeoStoreIndex.search(latitude, longitude, radiusKm, limit)));
+            } catch (Exception e) {
+                log.warn("[StoreGeoService] Redis GEO search failed, falling back: {}", e.getMessage());
+            }
+        }
+        if (storeSpatialIndex.isReady()) {
+            return toStores(storeSpatialIndex.findNearest(latitude, longitude, radiusKm, limit));
+        }
+        if (storeSchemaInitializer.isPostgisReady()) {
+            return storeRepository.findNearestStoresPostgis(latitude, longitude, radiusKm, limit);
+        }
+        return storeRepository.findNearestStoresWithinRadius(latitude, longitude, radiusKm, limit);
+    }
+
+    /**
+     * 반경 내 장소 중 placeIds에 포함된 장소만 조회 (거리 오름차순)
+     */
+    public List<StoreSummary> findStoresWithinRadiusAndPlaceIds(double latitude, double longitude, double radiusKm,
+                                                        Collection<String> placeIds) {
+        if (placeIds == null || placeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<StoreSummary> precomputed = hotspotRegistry.lookup(latitude, longitude, radiusKm);
+        if (precomputed != null) {
+            Set<String> placeIdSet = new HashSet<>(placeIds);
+            List<StoreSummary> result = new ArrayList<>();
+            for (StoreSummary store : precomputed) {
+                if (placeIdSet.contains(store.getPlaceId())) {
+                    result.add(store);
+                }
+            }
+            return result;
+        }
+        if (redisGeoStoreIndex.isReady()) {
+            try {
+                // 후보 id가 정해져 있으므로 반경 검색 대신 GEOPOS로 해당 id 좌표만 조회
+                List<RedisGeoStoreIndex.PlaceDistance> matched = new ArrayList<>();
+                for (Map.Entry<String, Point> entry : redisGeoStoreIndex.positions(new ArrayList<>(new HashSet<>(placeIds))).entrySet()) {
+                    double distanceKm = GeoUtils.distanceKm(latitude, longitude, entry.getValue().getY(), entry.getValue().getX());
+                    if (distanceKm <= radiusKm) {
+                        matched.add(new RedisGeoStoreIndex.PlaceDistance(entry.getKey(), distanceKm));
+                    }
+                }
+                matched.sort(Comparator.comparingDouble(RedisGeoStoreIndex.PlaceDistance::distanceKm));
+                return hydrate(placeIdsOf(matched));
+            } catch (Exception e) {
+                log.warn("[StoreGeoService] Redis GEO lookup failed, falling back: {}", e.getMessage());
+            }
+        }
+        if (storeSpatialIndex.isReady()) {
+            Set<String> placeIdSet = placeIds instanceof Set ? (Set<String>) placeIds : new HashSet<>(placeIds);
+            return toStores(storeSpatialIndex.findWithinRadiusAndPlaceIds(latitude, longitude, radiusKm, placeIdSet));
+        }
+        if (storeSchemaInitializer.isPostgisReady()) {
+            return storeRepository.findStoresWithinRadiusAndPlaceIdsPostgis(latitude, longitude, radiusKm, new ArrayList<>(placeIds));
+        }
+        return storeRepository.findStoresWithinRadiusAndPlaceIds(latitude, longitude, radiusKm, new ArrayList<>(placeIds));
+    }
+
+    /**
+     * 반경 내 장소 중 placeId 조건(TypeBitmapIndex의 type 필터 등)을 만족하는 장소만 조회 (거리 오름차순)
+     * 후보 id 목록을 DB/Redis에 넘기지 않고 공간 조회 결과에 조건을 프로세스 안에서 적용
+     */
+    public List<StoreSummary> findStoresWithinRadiusMatching(double latitude, double longitude, double radiusKm,
+                                                             Predicate<String> placeIdFilter) {
+        List<StoreSummary> precomputed = hotspotRegistry.lookup(latitude, longitude, radiusKm);
+        if (precomputed != null) {
+            List<StoreSummary> result = new ArrayList<>();
+            for (StoreSummary store : precomputed) {
+                if (placeIdFilter.test(store.getPlaceId())) {
+                    result.add(store);
+                }
+            }
+            return result;
+        }
+        if (storeSpatialIndex.isReady() && !redisGeoStoreIndex.isReady()) {
+            // 거리 계산 전에 비트 검사로 걸러냄
+            return toStores(storeSpatialIndex.findWithinRadiusMatching(latitude, longitude, radiusKm,
+                    store -> placeIdFilter.test(store.getPlaceId())));
+        }
+        return queryStoresWithinRadius(latitude, longitude, radiusKm).stream()
+                .filter(store -> placeIdFilter.test(store.getPlaceId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * stores.types 컬럼으로 type 필터 조회 가능 여부 (PostgreSQL, backfill 완료)
+     */
+    public boolean isTypeQueryReady() {
+        return storeTypesBackfill.isReady();
+    }
+
+    /**
+     * 반경 내 장소 중 types 중 하나 이상을 가진 장소 조회 (거리 오름차순)
+     * stores.types GIN 인덱스 + 반경 조건을 쿼리 한 번으로 처리 (isTypeQueryReady()일 때만 사용)
+     */
+    public List<StoreSummary> findStoresWithinRadiusAndTypes(double latitude, double longitude, double radiusKm,
+                                                             Collection<String> types) {
+        if (types == null || types.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String joinedTypes = String.join(",", types);
+        if (storeSchemaInitializer.isPostgisReady()) {
+            return storeRepository.findStoresWithinRadiusAndTypesPostgis(latitude, longitude, radiusKm, joinedTypes);
+        }
+        return storeRepository.findStoresWithinRadiusAndTypes(latitude, longitude, radiusKm, joinedTypes);
+    }
+
+    /**
+     * 반경 내 장소 중 count개를 균등 확률로 무작위 추출
+     * 인덱스 사용 시 순회 중 reservoir sampling, DB 사용 시 place_id만 조회 후 추출한 id만 로딩
+     */
+    public List<StoreSummary> findRandomStoresWithinRadius(double latitude, double longitude, double radiusKm, int count) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        List<StoreSummary> precomputed = hotspotRegistry.lookup(latitude, longitude, radiusKm);
+        if (precomputed != null) {
+            return ReservoirSampler.sample(precomputed, count);
+        }
+        if (redisGeoStoreIndex.isReady()) {
+            try {
+                List<String> candidateIds = placeIdsOf(redisGeoStoreIndex.search(latitude, longitude, radiusKm, null));
+                return hydrate(ReservoirSampler.sample(candidateIds, count));
+            } catch (Exception e) {
+                log.warn("[StoreGeoService] Redis GEO search failed, falling back: {}", e.getMessage());
+            }
+        }
+        if (storeSpatialIndex.isReady()) {
+            return new ArrayList<>(storeSpatialIndex.sampleWithinRadius(latitude, longitude, radiusKm, count));
+        }
+        List<String> candidateIds = storeSchemaInitializer.isPostgisReady()
+                ? storeRepository.findPlaceIdsWithinRadiusPostgis(latitude, longitude, radiusKm)
+                : storeRepository.findPlaceIdsWithinRadius(latitude, longitude, radiusKm);
+        List<String> sampledIds = ReservoirSampler.sample(candidateIds, count);
+        if (sampledIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return storeRepository.findSummariesByPlaceIdIn(sampledIds);
+    }
+
+    /**
+     * 응답 변환용 StoreSummary (같은 순서)
+     * 인메모리 인덱스 결과(StoreLocation)는 review를 들고 있지 않으므로 그 id만 DB에서 PK로 한 번에 조회하여 교체
+     * DB에서 사라진 장소는 제외
+     */
+    public List<StoreSummary> withContent(List<StoreSummary> stores) {
+        List<String> missing = new ArrayList<>();
+        for (StoreSummary store : stores) {
+            if (store instanceof StoreLocation) {
+                missing.add(store.getPlaceId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return stores;
+        }
+        Map<String, StoreSummary> loaded = new HashMap<>();
+        for (StoreSummary summary : storeRepository.findSummariesByPlaceIdIn(missing)) {
+            loaded.put(summary.getPlaceId(), summary);
+        }
+        List<StoreSummary> result = new ArrayList<>(stores.size());
+        for (StoreSummary store : stores) {
+            StoreSummary content = store instanceof StoreLocation ? loaded.get(store.getPlaceId()) : store;
+            if (content != null) {
+                result.add(content);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * place_id 목록을 같은 순서의 StoreSummary로 변환
+     * 인메모리 인덱스에 있으면 그대로 사용하고, 없는 id만 DB에서 PK로 조회
+     */
+    private List<StoreSummary> hydrate(List<String> placeIds) {
+        Map<String, StoreSummary> byPlaceId = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String placeId : placeIds) {
+            StoreSummary store = storeSpatialIndex.get(placeId);
+            if (store != null) {
+                byPlaceId.put(placeId, store);
+            } else {
+                missing.add(placeId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (StoreSummary summary : storeRepository.findSummariesByPlaceIdIn(missing)) {
+                byPlaceId.put(summary.getPlaceId(), summary);
+            }
+        }
+        List<StoreSummary> result = new ArrayList<>(placeIds.size());
+        for (String placeId : placeIds) {
+            StoreSummary summary = byPlaceId.get(placeId);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> placeIdsOf(List<RedisGeoStoreIndex.PlaceDistance> results) {
+        return results.stream().map(RedisGeoStoreIndex.PlaceDistance::placeId).collect(Collectors.toList());
+    }
+
+    private static List<StoreSummary> toStores(List<StoreDistance> results) {
+        return results.stream().map(result -> (StoreSummary) result.store()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,270 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.entity.Store;
+import com.ceseats.repository.StoreLocation;
+import com.ceseats.repository.StoreRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 인메모리 그리드 공간 인덱스
+ * 모든 장소 좌표를 위경도 격자(cell) 단위 버킷에 보관하여
+ * 반경/최근접 조회를 DB 왕복 없이 처리
+ *
+ * - 시작 시 PostgreSQL에서 전체 로드 (StoreLocation projection: review/types 없이 위치/분류만)
+ * - PlaceService에서 저장할 때마다 add()로 반영
+ * - 다른 인스턴스(blue/green)에서 저장된 장소는 주기적 재로딩으로 반영
+ *   재로딩 중 add()된 장소는 새 격자로 교체한 뒤 다시 반영 (DB 스냅샷 이후 저장된 장소가 빠지지 않도록)
+ */
+@Slf4j
+@Component
+public class StoreSpatialIndex {
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Value("${store.index.enabled:true}")
+    private boolean enabled;
+
+    // 격자 크기 (도). 0.01도 ≈ 위도 1.1km
+    @Value("${store.index.cell-size-deg:0.01}")
+    private double cellSizeDeg;
+
+    private volatile Grid grid;
+    // 재로딩 중 add()된 장소. 새 격자로 교체한 뒤 다시 반영
+    private final Queue<StoreLocation> addedDuringReload = new ConcurrentLinkedQueue<>();
+    private volatile boolean reloading;
+
+    public boolean isReady() {
+        return enabled && grid != null;
+    }
+
+    public int size() {
+        Grid current = grid;
+        return current != null ? current.byPlaceId.size() : 0;
+    }
+
+    // hotspot 목록 계산(StoreGeoService.refreshHotspots)보다 먼저 로딩
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * 전체 재로딩 (다른 인스턴스에서 저장된 장소 반영용)
+     */
+    @Scheduled(fixedDelayString = "${store.index.refresh-interval-ms:300000}",
+            initialDelayString = "${store.index.refresh-interval-ms:300000}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        addedDuringReload.clear();
+        reloading = true;
+        try {
+            List<StoreLocation> stores = storeRepository.findAllLocations();
+            Grid fresh = new Grid();
+            for (StoreLocation store : stores) {
+                if (store.getLatitude() != null && store.getLongitude() != null) {
+                    fresh.add(store);
+                }
+            }
+            this.grid = fresh;
+            reloading = false;
+            for (StoreLocation store = addedDuringReload.poll(); store != null; store = addedDuringReload.poll()) {
+                fresh.add(store);
+            }
+            log.info("[StoreSpatialIndex] loaded {} stores into {} cells: {}ms",
+                    fresh.byPlaceId.size(), fresh.cells.size(), (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            // 로딩 실패 시 기존 인덱스 유지 (없으면 StoreGeoService가 DB 쿼리로 fallback)
+            log.error("[StoreSpatialIndex] reload failed: {}", e.getMessage(), e);
+        } finally {
+            reloading = false;
+        }
+    }
+
+    /**
+     * 새로 저장된 장소를 인덱스에 반영
+     */
+    public void add(Store store) {
+        if (store == null || store.getPlaceId() == null
+                || store.getLatitude() == null || store.getLongitude() == null) {
+            return;
+        }
+        StoreLocation location = StoreLocation.of(store);
+        // 큐에 먼저 넣고 격자를 읽음: 교체 전 격자에만 들어가도 교체 후 큐에서 다시 반영됨
+        if (reloading) {
+            addedDuringReload.add(location);
+        }
+        Grid current = grid;
+        if (current != null) {
+            current.add(location);
+        }
+    }
+
+    public StoreLocation get(String placeId) {
+        Grid current = grid;
+        return current != null && placeId != null ? current.byPlaceId.get(placeId) : null;
+    }
+
+    /**
+     * 반경 내 장소 조회 (거리 오름차순)
+     */
+    public List<StoreDistance> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        List<StoreDistance> result = new ArrayList<>();
+        forEachWithinRadius(latitude, longitude, radiusKm, null, result::add);
+        result.sort(Comparator.comparingDouble(StoreDistance::distanceKm));
+        return result;
+    }
+
+    /**
+     * 반경 내 가장 가까운 limit개 조회 (거리 오름차순)
+     * 전체 정렬 없이 크기 limit의 힙으로 부분 선택
+     */
+    public List<StoreDistance> findNearest(double latitude, double longitude, double radiusKm, int limit) {
+        BoundedTopK<StoreDistance> nearest = new BoundedTopK<>(limit, Comparator.comparingDouble(StoreDistance::distanceKm));
+        forEachWithinRadius(latitude, longitude, radiusKm, null, nearest);
+        return nearest.getResult();
+    }
+
+    /**
+     * 반경 내 장소 중 placeIds에 포함된 장소만 조회 (거리 오름차순)
+     */
+    public List<StoreDistance> findWithinRadiusAndPlaceIds(double latitude, double longitude, double radiusKm,
+                                                          Collection<String> placeIds) {
+        return findWithinRadiusMatching(latitude, longitude, radiusKm, store -> placeIds.contains(store.getPlaceId()));
+    }
+
+    /**
+     * 반경 내 장소 중 조건을 만족하는 장소만 조회 (거리 오름차순)
+     * 조건은 거리 계산 전에 적용 (예: TypeBitmapIndex의 type 필터)
+     */
+    public List<StoreDistance> findWithinRadiusMatching(double latitude, double longitude, double radiusKm,
+                                                       Predicate<StoreLocation> filter) {
+        List<StoreDistance> result = new ArrayList<>();
+        forEachWithinRadius(latitude, longitude, radiusKm, filter, result::add);
+        result.sort(Comparator.comparingDouble(StoreDistance::distanceKm));
+        return result;
+    }
+
+    /**
+     * 반경 내 장소 중 count개를 균등 확률로 무작위 추출
+     * 후보 리스트를 만들지 않고 순회하면서 reservoir sampling (메모리 O(count))
+     */
+    public List<StoreLocation> sampleWithinRadius(double latitude, double longitude, double radiusKm, int count) {
+        ReservoirSampler<StoreLocation> sampler = new ReservoirSampler<>(count);
+        forEachWithinRadius(latitude, longitude, radiusKm, null, result -> sampler.accept(result.store()));
+        return sampler.getSample();
+    }
+
+    /**
+     * 반경 내 장소를 순회 (순서 보장 없음)
+     * @param filter 거리 계산 전에 적용할 조건 (null이면 전체)
+     */
+    private void forEachWithinRadius(double latitude, double longitude, double radiusKm,
+                                     Predicate<StoreLocation> filter, Consumer<StoreDistance> sink) {
+        Grid current = grid;
+        if (current == null) {
+            return;
+        }
+
+        double dLat = GeoUtils.latDeltaDegrees(radiusKm);
+        double dLon = GeoUtils.lonDeltaDegrees(latitude, radiusKm);
+        long minLatCell = cellOf(latitude - dLat);
+        long maxLatCell = cellOf(latitude + dLat);
+        long minLonCell = cellOf(longitude - dLon);
+        long maxLonCell = cellOf(longitude + dLon);
+
+        long cellCount = (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+        if (cellCount > current.cells.size()) {
+            // 반경이 인덱스 전체보다 넓으면 격자 순회 대신 전체 스캔
+            for (StoreLocation store : current.byPlaceId.values()) {
+                accept(store, latitude, longitude, radiusKm, filter, sink);
+            }
+            return;
+        }
+
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                StoreLocation[] bucket = current.cells.get(cellKey(latCell, lonCell));
+                if (bucket == null) continue;
+                for (StoreLocation store : bucket) {
+                    accept(store, latitude, longitude, radiusKm, filter, sink);
+                }
+            }
+        }
+    }
+
+    private void accept(StoreLocation store, double latitude, double longitude, double radiusKm,
+                        Predicate<StoreLocation> filter, Consumer<StoreDistance> sink) {
+        if (filter != null && !filter.test(store)) {
+            return;
+        }
+        double distanceKm = GeoUtils.distanceKm(latitude, longitude, store.getLatitude(), store.getLongitude());
+        if (distanceKm <= radiusKm) {
+            sink.accept(new StoreDistance(store, distanceKm));
+        }
+    }
+
+    private long cellOf(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDeg);
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return (latCell << 32) ^ (lonCell & 0xffffffffL);
+    }
+
+    /**
+     * 격자 스냅샷. 재로딩 시 새 Grid를 만들어 통째로 교체
+     * 셀 버킷은 copy-on-write 배열이라 조회 중 add()가 일어나도 안전
+     */
+    private class Grid {
+        private final Map<Long, StoreLocation[]> cells = new ConcurrentHashMap<>();
+        private final Map<String, StoreLocation> byPlaceId = new ConcurrentHashMap<>();
+
+        void add(StoreLocation store) {
+            StoreLocation previous = byPlaceId.put(store.getPlaceId(), store);
+            if (previous != null) {
+                remove(previous);
+            }
+            long key = cellKey(cellOf(store.getLatitude()), cellOf(store.getLongitude()));
+            cells.compute(key, (k, bucket) -> {
+                if (bucket == null) return new StoreLocation[]{store};
+                StoreLocation[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                grown[bucket.length] = store;
+                return grown;
+            });
+        }
+
+        private void remove(StoreLocation store) {
+            long key = cellKey(cellOf(store.getLatitude()), cellOf(store.getLongitude()));
+            cells.computeIfPresent(key, (k, bucket) -> {
+                StoreLocation[] kept = Arrays.stream(bucket)
+                        .filter(s -> !s.getPlaceId().equals(store.getPlaceId()))
+                        .toArray(StoreLocation[]::new);
+                return kept.length == 0 ? null : kept;
+            });
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import com.ceseats.repository.StoreRepository;
+import com.ceseats.service.ReviewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 인메모리 type 비트맵 인덱스
+ * 장소마다 dense 정수 ordinal을 부여하고, Google type마다 해당 ordinal 비트를 켠 BitSet을 보관
+ * type 필터는 BitSet OR/AND로 계산하고, 공간 조회 후보에 비트 검사로 적용 (IN :placeIds 목록 불필요)
+ *
+ * - 시작 시 DB의 place_id 전체 + Redis types(MGET 배치)로 로딩
+ * - PlaceService에서 types 저장 시 update()로 반영
+ * - 다른 인스턴스에서 저장된 장소는 주기적 재로딩으로 반영
+ * - Redis가 unhealthy면 재로딩을 중단하고 기존 비트맵 유지 (getTypes가 빈 결과를 돌려주므로 types 없는 비트맵이 됨)
+ */
+@Slf4j
+@Component
+public class TypeBitmapIndex {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    @Value("${type.bitmap.enabled:true}")
+    private boolean enabled;
+
+    private volatile Bitmaps bitmaps;
+    // 재로딩 중 update()된 장소. 새 비트맵으로 교체한 뒤 다시 반영
+    private final Queue<Update> updatedDuringReload = new ConcurrentLinkedQueue<>();
+    private volatile boolean reloading;
+
+    public boolean isReady() {
+        return enabled && bitmaps != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${type.bitmap.refresh-interval-ms:300000}",
+            initialDelayString = "${type.bitmap.refresh-interval-ms:300000}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        updatedDuringReload.clear();
+        reloading = true;
+        try {
+            if (!redisConnectionMonitor.isHealthy()) {
+                log.warn("[TypeBitmapIndex] Redis unhealthy, reload skipped (keeping previous bitmaps)");
+                return;
+            }
+            List<String> placeIds = storeRepository.findAllPlaceIds();
+            Bitmaps fresh = new Bitmaps();
+            for (int from = 0; from < placeIds.size(); from += LOAD_BATCH_SIZE) {
+                List<String> batch = placeIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, placeIds.size()));
+                Map<String, List<String>> typesByPlaceId = reviewService.getTypes(batch);
+                // 배치 도중 Redis 오류가 나면 getTypes는 일부/빈 결과를 돌려주므로 배치마다 확인
+                if (!redisConnectionMonitor.isHealthy()) {
+                    log.warn("[TypeBitmapIndex] Redis unhealthy at {}/{} places, reload aborted (keeping previous bitmaps)",
+                            from, placeIds.size());
+                    return;
+                }
+                for (String placeId : batch) {
+                    fresh.update(placeId, typesByPlaceId.get(placeId));
+                }
+            }
+            this.bitmaps = fresh;
+            reloading = false;
+            for (Update update = updatedDuringReload.poll(); update != null; update = updatedDuringReload.poll()) {
+                fresh.update(update.placeId(), update.types());
+            }
+            log.info("[TypeBitmapIndex] loaded {} places, {} types: {}ms",
+                    fresh.ordinals.size(), fresh.byType.size(), (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            // 로딩 실패 시 기존 비트맵 유지 (없으면 호출한 쪽이 Redis SET + place_id 목록으로 fallback)
+            log.error("[TypeBitmapIndex] reload failed: {}", e.getMessage(), e);
+        } finally {
+            reloading = false;
+        }
+    }
+
+    /**
+     * 장소의 types 반영 (기존 types 비트는 모두 지우고 다시 설정)
+     */
+    public void update(String placeId, Collection<String> types) {
+        if (placeId == null) {
+            return;
+        }
+        // 큐에 먼저 넣고 비트맵을 읽음: 교체 전 비트맵에만 들어가도 교체 후 큐에서 다시 반영됨
+        if (reloading) {
+            updatedDuringReload.add(new Update(placeId, types != null ? new ArrayList<>(types) : null));
+        }
+        Bitmaps current = bitmaps;
+        if (current != null) {
+            current.update(placeId, types);
+        }
+    }
+
+    private record Update(String placeId, Collection<String> types) {
+    }
+
+    /**
+     * types 중 하나 이상을 가진 장소 (OR)
+     */
+    public TypeFilter matchAny(Collection<String> types) {
+        return bitmaps.combine(types, false);
+    }
+
+    /**
+     * types를 모두 가진 장소 (AND)
+     */
+    public TypeFilter matchAll(Collection<String> types) {
+        return bitmaps.combine(types, true);
+    }
+
+    /**
+     * 계산이 끝난 type 필터. placeId에 대한 비트 검사만 수행
+     */
+    public static class TypeFilter implements Predicate<String> {
+        private final BitSet bits;
+        private final Map<String, Integer> ordinals;
+
+        private TypeFilter(BitSet bits, Map<String, Integer> ordinals) {
+            this.bits = bits;
+            this.ordinals = ordinals;
+        }
+
+        public boolean isEmpty() {
+            return bits.isEmpty();
+        }
+
+        public int cardinality() {
+            return bits.cardinality();
+        }
+
+        @Override
+        public boolean test(String placeId) {
+            Integer ordinal = placeId != null ? ordinals.get(placeId) : null;
+            return ordinal != null && bits.get(ordinal);
+        }
+    }
+
+    /**
+     * 비트맵 스냅샷. 재로딩 시 통째로 교체
+     * BitSet은 thread-safe가 아니므로 변경은 write lock, 필터 계산은 read lock 안에서 복사본으로 수행
+     */
+    private static class Bitmaps {
+        private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+        private final Map<String, BitSet> byType = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void update(String placeId, Collection<String> types) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(placeId);
+                if (ordinal == null) {
+                    ordinal = ordinals.size();
+                    ordinals.put(placeId, ordinal);
+                } else {
+                    for (BitSet bits : byType.values()) {
+                        bits.clear(ordinal);
+                    }
+                }
+                if (types == null) {
+                    return;
+                }
+                for (String type : types) {
+                    if (type == null || type.isEmpty()) continue;
+                    byType.computeIfAbsent(type, t -> new BitSet()).set(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        TypeFilter combine(Collection<String> types, boolean and) {
+            BitSet result = null;
+            lock.readLock().lock();
+            try {
+                if (types != null) {
+                    for (String type : types) {
+                        if (type == null || type.isEmpty()) continue;
+                        BitSet bits = byType.get(type);
+                        if (bits == null) {
+                            if (and) {
+                                result = new BitSet();
+                                break;
+                            }
+                            continue;
+                        }
+                        if (result == null) {
+                            result = (BitSet) bits.clone();
+                        } else if (and) {
+                            result.and(bits);
+                        } else {
+                            result.or(bits);
+                        }
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return new TypeFilter(result != null ? result : new BitSet(), ordinals);
+        }
+    }
+}
@@ -29,6 +29,7 @@ public class PlaceDetails {
     private List<Review> reviews = new ArrayList<>();
     private String busyLevel; // "LOW", "MEDIUM", "HIGH", "UNKNOWN" (현재는 UNKNOWN, 추후 확장 가능)
     private List<String> types = new ArrayList<>(); // Google Places API types 필드
+    private String displayType; // DB 장소: Store에 저장된 표시 타입 (PlaceCategory.displayTypeOf)
     private String website; // 웹사이트 URL (메뉴 정보가 있을 수 있음)
 
     @Data
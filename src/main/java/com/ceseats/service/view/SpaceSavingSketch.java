@@ -0,0 +1,87 @@
+package com.ceseats.service.view;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitter sketch (상위 K개 빈도 추정)
+ * 최대 capacity개의 counter만 유지하여 메모리가 고정. 갱신 O(log capacity)
+ *
+ * - 추적 중인 key: counter 증가
+ * - 새 key이고 자리가 없으면 가장 작은 counter를 빼앗아 (그 값 + count)로 시작, 빼앗은 값은 error로 기록
+ * 추정값은 실제 빈도 이상이고, 실제 빈도가 전체 / capacity보다 큰 key는 반드시 포함됨
+ * thread-safe (모든 메서드 synchronized)
+ */
+public class SpaceSavingSketch {
+
+    private static final Comparator<Counter> ORDER = Comparator.comparingLong(Counter::count)
+            .thenComparing(Counter::key);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    // 첫 원소 = 가장 작은 counter (교체 대상)
+    private final TreeSet<Counter> ordered = new TreeSet<>(ORDER);
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public synchronized void offer(String key, long count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter current = counters.get(key);
+        Counter updated;
+        if (current != null) {
+            ordered.remove(current);
+            updated = new Counter(key, current.count() + count, current.error());
+        } else if (counters.size() < capacity) {
+            updated = new Counter(key, count, 0L);
+        } else {
+            Counter min = ordered.pollFirst();
+            counters.remove(min.key());
+            updated = new Counter(key, min.count() + count, min.count());
+        }
+        counters.put(key, updated);
+        ordered.add(updated);
+    }
+
+    public synchronized boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    /**
+     * 추정 빈도 내림차순 상위 k개
+     */
+    public synchronized List<Counter> top(int k) {
+        List<Counter> result = new ArrayList<>(Math.min(k, counters.size()));
+        for (Counter counter : ordered.descendingSet()) {
+            if (result.size() >= k) {
+                break;
+            }
+            result.add(counter);
+        }
+        return result;
+    }
+
+    /**
+     * 모든 counter를 꺼내고 비움 (Redis 반영용)
+     */
+    public synchronized List<Counter> drain() {
+        List<Counter> result = new ArrayList<>(ordered.descendingSet());
+        counters.clear();
+        ordered.clear();
+        return result;
+    }
+
+    /**
+     * @param count 추정 빈도 (실제 빈도 이상)
+     * @param error 과대 추정 상한 (count - error ≤ 실제 빈도)
+     */
+    public record Counter(String key, long count, long error) {
+    }
+}
@@ -0,0 +1,324 @@
+package com.ceseats.service.view;
+
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import com.ceseats.repository.StoreLocation;
+import com.ceseats.service.geo.BoundedTopK;
+import com.ceseats.service.geo.StoreSpatialIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "지금 뜨는 장소" 상위 K개 (trending.enabled=true)
+ * 조회 이벤트를 Space-Saving sketch(SpaceSavingSketch)에 넣어 장소 수/조회 수와 관계없이 scope당 capacity개 counter만 유지
+ * scope = 전체(all) + 장소 좌표의 격자(cell-size-deg, 위치 기반 조회용)
+ *
+ * window-minutes 단위 tumbling window별로 집계하고, 조회 시 현재 window + 이전 window(남은 비율만큼 가중)로 sliding window 근사
+ * shared=true면 flush 주기마다 인스턴스별 sketch를 Redis ZSET에 합산 (Space-Saving counter는 더해서 병합 가능)
+ *   trending:<scope>:<window>  member = placeId, score = 추정 조회수 (상위 capacity개만 남기고 잘라냄)
+ * 조회는 scope/window별 ZREVRANGE 상위 limit개만 읽어 병합 → O(K)
+ * Redis 장애 또는 shared=false면 인스턴스 로컬 sketch로 응답
+ */
+@Slf4j
+@Component
+public class TrendingPlaceTracker {
+
+    private static final String KEY_PREFIX = "trending:";
+    private static final String GLOBAL_SCOPE = "all";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    @Autowired
+    private StoreSpatialIndex storeSpatialIndex;
+
+    @Value("${trending.enabled:true}")
+    private boolean enabled;
+
+    @Value("${trending.shared:true}")
+    private boolean shared;
+
+    @Value("${trending.window-minutes:10}")
+    private int windowMinutes;
+
+    // scope당 counter 수 (Redis ZSET도 이 크기로 유지)
+    @Value("${trending.capacity:200}")
+    private int capacity;
+
+    // 위치 scope 격자 크기 (도). 0.05도 ≈ 위도 5.5km
+    @Value("${trending.cell-size-deg:0.05}")
+    private double cellSizeDeg;
+
+    // 로컬에서 유지하는 위치 scope 최대 개수 (초과 시 새 격자는 전체 scope에만 집계)
+    @Value("${trending.max-local-cells:256}")
+    private int maxLocalCells;
+
+    private final Map<String, WindowedSketch> local = new ConcurrentHashMap<>();
+    // Redis에 아직 반영하지 않은 집계
+    private final Map<PendingKey, SpaceSavingSketch> pending = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    public void record(String placeId) {
+        record(placeId, System.currentTimeMillis(), 1L);
+    }
+
+    /**
+     * 조회 기록. 이전 window보다 오래된 조회는 무시
+     */
+    public void record(String placeId, long timestampMs, long count) {
+        if (!enabled || count <= 0) {
+            return;
+        }
+        long currentWindow = windowOf(System.currentTimeMillis());
+        long window = windowOf(Math.min(timestampMs, System.currentTimeMillis()));
+        if (window < currentWindow - 1) {
+            return;
+        }
+        String cellScope = cellScopeOf(placeId);
+        recordScope(GLOBAL_SCOPE, placeId, window, currentWindow, count);
+        if (cellScope != null) {
+            recordScope(cellScope, placeId, window, currentWindow, count);
+        }
+    }
+
+    private void recordScope(String scope, String placeId, long window, long currentWindow, long count) {
+        WindowedSketch sketch = local.get(scope);
+        if (sketch == null && (GLOBAL_SCOPE.equals(scope) || local.size() <= maxLocalCells)) {
+            sketch = local.computeIfAbsent(scope, s -> new WindowedSketch(capacity));
+        }
+        if (sketch != null) {
+            sketch.offer(placeId, window, currentWindow, count);
+        }
+        if (shared) {
+            pending.computeIfAbsent(new PendingKey(scope, window), k -> new SpaceSavingSketch(capacity))
+                    .offer(placeId, count);
+        }
+    }
+
+    /**
+     * 최근 window 동안 조회가 많은 장소
+     * @param latitude 지정 시 그 위치의 격자와 주변 8개 격자만 대상 (null이면 전체)
+     * @return 추정 조회수 내림차순
+     */
+    public List<TrendingPlace> top(Double latitude, Double longitude, int limit) {
+        if (!enabled || limit <= 0) {
+            return List.of();
+        }
+        List<String> scopes = latitude != null && longitude != null
+                ? neighbourScopes(latitude, longitude) : List.of(GLOBAL_SCOPE);
+        long now = System.currentTimeMillis();
+        long currentWindow = windowOf(now);
+        // 이전 window는 현재 window에서 지난 비율만큼 덜 반영
+        double previousWeight = 1.0 - (double) (now - currentWindow * windowMs()) / windowMs();
+
+        Map<String, Double> scores = new HashMap<>();
+        if (shared && redisConnectionMonitor.isHealthy()) {
+            try {
+                List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (String scope : scopes) {
+                        connection.zSetCommands().zRevRangeWithScores(bytes(key(scope, currentWindow)), 0, limit - 1);
+                        connection.zSetCommands().zRevRangeWithScores(bytes(key(scope, currentWindow - 1)), 0, limit - 1);
+                    }
+                    return null;
+                });
+                for (int i = 0; i < replies.size(); i++) {
+                    if (!(replies.get(i) instanceof Collection<?> tuples)) continue;
+                    double weight = i % 2 == 0 ? 1.0 : previousWeight;
+                    for (Object tuple : tuples) {
+                        if (tuple instanceof ZSetOperations.TypedTuple<?> typed
+                                && typed.getValue() != null && typed.getScore() != null) {
+                            scores.merge(typed.getValue().toString(), typed.getScore() * weight, Double::sum);
+                        }
+                    }
+                }
+                return select(scores, limit);
+            } catch (Exception e) {
+                redisConnectionMonitor.markFailure(e);
+                log.warn("[TrendingPlaceTracker] redis read failed, using local sketch: {}", e.getMessage());
+                scores.clear();
+            }
+        }
+        for (String scope : scopes) {
+            WindowedSketch sketch = local.get(scope);
+            if (sketch != null) {
+                sketch.collect(currentWindow, previousWeight, limit, scores);
+            }
+        }
+        return select(scores, limit);
+    }
+
+    /**
+     * 누적된 sketch를 Redis ZSET에 합산 (ZINCRBY 후 상위 capacity개만 남김, 파이프라인 한 번)
+     */
+    @Scheduled(fixedDelayString = "${trending.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (!enabled || !shared) {
+            return;
+        }
+        long currentWindow = windowOf(System.currentTimeMillis());
+        Map<PendingKey, List<SpaceSavingSketch.Counter>> drained = new HashMap<>();
+        for (Map.Entry<PendingKey, SpaceSavingSketch> entry : pending.entrySet()) {
+            List<SpaceSavingSketch.Counter> counters = entry.getValue().drain();
+            if (!counters.isEmpty()) {
+                drained.put(entry.getKey(), counters);
+            }
+            // 현재/이전 window가 아니면 더 이상 기록되지 않음
+            if (entry.getKey().window() < currentWindow - 1) {
+                pending.remove(entry.getKey());
+            }
+        }
+        if (drained.isEmpty() || !redisConnectionMonitor.isHealthy()) {
+            // Redis 장애 중의 집계는 버림 (로컬 sketch에는 남아 있음)
+            return;
+        }
+        long ttlSeconds = 3L * windowMinutes * 60;
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<PendingKey, List<SpaceSavingSketch.Counter>> entry : drained.entrySet()) {
+                    byte[] key = bytes(key(entry.getKey().scope(), entry.getKey().window()));
+                    for (SpaceSavingSketch.Counter counter : entry.getValue()) {
+                        connection.zSetCommands().zIncrBy(key, counter.count(), bytes(counter.key()));
+                    }
+                    connection.zSetCommands().zRemRange(key, 0, -(capacity + 1));
+                    connection.keyCommands().expire(key, ttlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            redisConnectionMonitor.markFailure(e);
+            log.error("[TrendingPlaceTracker] flush failed for {} scopes: {}", drained.size(), e.getMessage(), e);
+        }
+    }
+
+    private static List<TrendingPlace> select(Map<String, Double> scores, int limit) {
+        List<TrendingPlace> places = new ArrayList<>(scores.size());
+        scores.forEach((placeId, score) -> places.add(new TrendingPlace(placeId, score)));
+        return BoundedTopK.select(places, limit,
+                Comparator.comparingDouble(TrendingPlace::estimatedViews).reversed().thenComparing(TrendingPlace::placeId));
+    }
+
+    /**
+     * 장소 좌표의 격자 scope (인메모리 공간 인덱스에 없으면 null → 전체 scope에만 집계)
+     */
+    private String cellScopeOf(String placeId) {
+        StoreLocation store = storeSpatialIndex.get(placeId);
+        if (store == null || store.getLatitude() == null || store.getLongitude() == null) {
+            return null;
+        }
+        return cellScope(cellOf(store.getLatitude()), cellOf(store.getLongitude()));
+    }
+
+    private List<String> neighbourScopes(double latitude, double longitude) {
+        long latCell = cellOf(latitude);
+        long lonCell = cellOf(longitude);
+        List<String> scopes = new ArrayList<>(9);
+        for (long dLat = -1; dLat <= 1; dLat++) {
+            for (long dLon = -1; dLon <= 1; dLon++) {
+                scopes.add(cellScope(latCell + dLat, lonCell + dLon));
+            }
+        }
+        return scopes;
+    }
+
+    private long cellOf(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDeg);
+    }
+
+    private static String cellScope(long latCell, long lonCell) {
+        return "c:" + latCell + ":" + lonCell;
+    }
+
+    private static String key(String scope, long window) {
+        return KEY_PREFIX + scope + ":" + window;
+    }
+
+    private long windowMs() {
+        return windowMinutes * 60_000L;
+    }
+
+    private long windowOf(long timestampMs) {
+        return timestampMs / windowMs();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param estimatedViews 최근 window 추정 조회수 (Space-Saving 추정이라 실제 이상일 수 있음)
+     */
+    public record TrendingPlace(String placeId, double estimatedViews) {
+    }
+
+    private record PendingKey(String scope, long window) {
+    }
+
+    /**
+     * 한 scope의 로컬 sketch (현재 / 이전 window)
+     */
+    private static final class WindowedSketch {
+        private final int capacity;
+        private long window;
+        private SpaceSavingSketch current;
+        private SpaceSavingSketch previous;
+
+        WindowedSketch(int capacity) {
+            this.capacity = capacity;
+            this.current = new SpaceSavingSketch(capacity);
+            this.previous = new SpaceSavingSketch(capacity);
+        }
+
+        synchronized void offer(String placeId, long eventWindow, long currentWindow, long count) {
+            rotate(currentWindow);
+            if (eventWindow == window) {
+                current.offer(placeId, count);
+            } else if (eventWindow == window - 1) {
+                previous.offer(placeId, count);
+            }
+        }
+
+        synchronized void collect(long currentWindow, double previousWeight, int limit, Map<String, Double> scores) {
+            rotate(currentWindow);
+            for (SpaceSavingSketch.Counter counter : current.top(limit)) {
+                scores.merge(counter.key(), (double) counter.count(), Double::sum);
+            }
+            for (SpaceSavingSketch.Counter counter : previous.top(limit)) {
+                scores.merge(counter.key(), counter.count() * previousWeight, Double::sum);
+            }
+        }
+
+        private void rotate(long currentWindow) {
+            // 다른 스레드가 먼저 다음 window로 넘긴 경우 되돌리지 않음
+            if (currentWindow <= window) {
+                return;
+            }
+            previous = currentWindow == window + 1 ? current : new SpaceSavingSketch(capacity);
+            current = new SpaceSavingSketch(capacity);
+            window = currentWindow;
+        }
+    }
+}
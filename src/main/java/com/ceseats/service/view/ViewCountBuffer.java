@@ -0,0 +1,301 @@
+package com.ceseats.service.view;
+
+import com.ceseats.config.StoreSchemaInitializer;
+import com.ceseats.entity.PlaceView;
+import com.ceseats.repository.PlaceViewCount;
+import com.ceseats.repository.PlaceViewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 조회수 write-behind 버퍼 (view.count.mode=buffered)
+ * 카드 조회마다 DB에 쓰지 않고 place별 LongAdder에 누적한 뒤, 주기적으로 place_views에 upsert 한 문장으로 반영
+ * (PlaceViewRepository.incrementViewCounts)
+ *
+ * - 증가는 락/DB 연결 없이 즉시 응답 (LongAdder는 스레드별 cell로 경합 분산)
+ * - place_id 형식(isValidPlaceId)이 아니면 버퍼에 넣지 않음
+ * - 손실 구간은 flush 주기 이내 (종료 시 @PreDestroy에서 마지막 flush)
+ * - flush 실패 시: 연결/timeout 등 일시적 오류면 증가분을 버퍼에 되돌려 다음 주기에 재시도,
+ *   데이터 오류면 batch를 반으로 나눠 다시 반영하고 끝까지 실패하는 place만 버림 (한 place가 전체 반영을 막지 않도록)
+ * - 조회수 응답은 DB 값(캐시) + 아직 flush되지 않은 증가분
+ *   DB 값 캐시에는 이 인스턴스에서 증가/조회한 장소만 보관: flush의 RETURNING 값, 검색 결과의 findByPlaceIdIn 값(cachePersisted),
+ *   캐시에 없거나 persisted-cache-ttl-ms가 지난 장소는 증가 시 findByPlaceIdIn 한 번으로 채움 (다른 인스턴스의 증가분은 TTL 안에 반영)
+ *   만료된 항목은 주기적으로 제거하여 캐시 크기는 최근에 다룬 장소 수로 제한
+ *
+ * place별 LongAdder는 제거하지 않음 (제거 중 들어온 증가가 유실될 수 있고, 개수는 장소 수로 제한됨)
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    public static final String MODE_BUFFERED = "buffered";
+
+    // Google place_id 형식 (영문/숫자/-/_), place_views.place_id 컬럼 길이(255) 이내
+    private static final Pattern PLACE_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,255}");
+
+    @Autowired
+    private PlaceViewRepository placeViewRepository;
+
+    @Autowired
+    private StoreSchemaInitializer storeSchemaInitializer;
+
+    // buffered(기본): 메모리 누적 후 주기적 flush | direct: 요청마다 DB 반영
+    @Value("${view.count.mode:buffered}")
+    private String mode;
+
+    // DB 조회수 캐시 항목 유지 시간 (지나면 다음 증가 시 다시 조회)
+    @Value("${view.count.persisted-cache-ttl-ms:60000}")
+    private long persistedCacheTtlMs;
+
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<String, PersistedCount> persistedCounts = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return MODE_BUFFERED.equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 조회수 1 증가
+     * @return 증가 후 조회수 추정값 (DB 값 + flush 전 증가분)
+     */
+    public long increment(String placeId) {
+        return increment(placeId, 1L);
+    }
+
+    /**
+     * 조회수 count 증가
+     * @return 증가 후 조회수 추정값 (DB 값 + flush 전 증가분)
+     * @throws IllegalArgumentException place_id 형식이 아닌 경우
+     */
+    public long increment(String placeId, long count) {
+        ViewCountDeltas deltas = new ViewCountDeltas();
+        deltas.add(placeId, count);
+        return incrementAll(deltas).get(placeId);
+    }
+
+    /**
+     * 여러 장소의 조회수 증가 (일괄 조회 이벤트용). 캐시에 없는 DB 값은 한 번에 조회
+     * @return place별 증가 후 조회수 추정값
+     * @throws IllegalArgumentException place_id 형식이 아닌 장소가 있는 경우 (아무것도 반영하지 않음)
+     */
+    public Map<String, Long> incrementAll(ViewCountDeltas deltas) {
+        for (String placeId : deltas.placeIds()) {
+            if (!isValidPlaceId(placeId)) {
+                throw new IllegalArgumentException("invalid placeId");
+            }
+        }
+        deltas.forEach((placeId, count) -> pending.computeIfAbsent(placeId, id -> new LongAdder()).add(count));
+        Map<String, Long> persisted = persistedCounts(List.of(deltas.placeIds()));
+        Map<String, Long> result = new HashMap<>();
+        deltas.forEach((placeId, count) -> result.put(placeId, persisted.getOrDefault(placeId, 0L) + pending(placeId)));
+        return result;
+    }
+
+    /**
+     * 다른 곳에서 읽은 DB 조회수로 캐시 갱신 (검색 결과의 findByPlaceIdIn 등)
+     * @param readStartedAtMillis 조회를 시작한 시각. 그 뒤에 flush로 갱신된 값은 덮어쓰지 않음
+     */
+    public void cachePersisted(Collection<PlaceView> placeViews, long readStartedAtMillis) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (PlaceView placeView : placeViews) {
+            remember(placeView.getPlaceId(), placeView.getViewCount(), readStartedAtMillis);
+        }
+    }
+
+    /**
+     * place별 DB 조회수. 캐시에 없거나 만료된 장소만 findByPlaceIdIn 한 번으로 조회 (행이 없으면 0)
+     * 조회 실패 시 만료된 캐시 값이라도 사용
+     */
+    private Map<String, Long> persistedCounts(List<String> placeIds) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String placeId : placeIds) {
+            PersistedCount cached = persistedCounts.get(placeId);
+            if (cached != null && now - cached.loadedAtMillis() < persistedCacheTtlMs) {
+                result.put(placeId, cached.count());
+            } else {
+                missing.add(placeId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        try {
+            Map<String, Long> loaded = new HashMap<>();
+            for (PlaceView placeView : placeViewRepository.findByPlaceIdIn(missing)) {
+                loaded.put(placeView.getPlaceId(), placeView.getViewCount());
+            }
+            for (String placeId : missing) {
+                result.put(placeId, remember(placeId, loaded.getOrDefault(placeId, 0L), now));
+            }
+        } catch (Exception e) {
+            log.warn("[ViewCountBuffer] persisted view count load failed for {} places: {}", missing.size(), e.getMessage());
+            for (String placeId : missing) {
+                PersistedCount stale = persistedCounts.get(placeId);
+                if (stale != null) {
+                    result.put(placeId, stale.count());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 더 나중에 읽은 값만 반영 (flush RETURNING과 동시에 진행된 조회가 새 값을 이전 값으로 덮어쓰지 않도록)
+     * @return 반영 후 캐시 값
+     */
+    private long remember(String placeId, long count, long loadedAtMillis) {
+        return persistedCounts.merge(placeId, new PersistedCount(count, loadedAtMillis),
+                (current, loaded) -> loaded.loadedAtMillis() >= current.loadedAtMillis() ? loaded : current).count();
+    }
+
+    public static boolean isValidPlaceId(String placeId) {
+        return placeId != null && PLACE_ID_PATTERN.matcher(placeId).matches();
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 증가분
+     */
+    public long pending(String placeId) {
+        LongAdder adder = pending.get(placeId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${view.count.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (!isEnabled()) {
+            return;
+        }
+        flush();
+    }
+
+    /**
+     * 만료된 DB 조회수 캐시 항목 제거 (최근에 증가/조회하지 않은 장소)
+     */
+    @Scheduled(fixedDelayString = "${view.count.persisted-cache-ttl-ms:60000}",
+            initialDelayString = "${view.count.persisted-cache-ttl-ms:60000}")
+    public void evictExpiredPersistedCounts() {
+        long now = System.currentTimeMillis();
+        persistedCounts.values().removeIf(cached -> now - cached.loadedAtMillis() >= persistedCacheTtlMs);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (isEnabled()) {
+            flush();
+        }
+    }
+
+    /**
+     * 누적된 증가분을 place_views에 반영
+     */
+    public synchronized void flush() {
+        // place_id 순서로 upsert하여 여러 인스턴스가 동시에 flush해도 행 잠금 순서가 같도록 함 (deadlock 방지)
+        Map<String, Long> deltas = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        final long t0 = System.nanoTime();
+        // 반영(또는 버림)이 끝나면 제거. 일시적 오류로 중단되면 남은 것만 되돌림
+        Map<String, Long> unwritten = new TreeMap<>(deltas);
+        try {
+            writeOrSplit(new ArrayList<>(deltas.keySet()), deltas, unwritten);
+            log.debug("[ViewCountBuffer] flushed {} places: {}ms", deltas.size(), (System.nanoTime() - t0) / 1_000_000L);
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영
+            unwritten.forEach((placeId, delta) -> pending.computeIfAbsent(placeId, id -> new LongAdder()).add(delta));
+            log.error("[ViewCountBuffer] flush failed for {} places: {}", unwritten.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * placeIds(정렬된 목록)의 증가분 반영. 데이터 오류면 반으로 나눠 다시 반영하고, 한 place만 남아도 실패하면 버림
+     */
+    private void writeOrSplit(List<String> placeIds, Map<String, Long> deltas, Map<String, Long> unwritten) {
+        Map<String, Long> batch = new LinkedHashMap<>();
+        for (String placeId : placeIds) {
+            batch.put(placeId, deltas.get(placeId));
+        }
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            if (!isDataError(e)) {
+                throw e;
+            }
+            if (placeIds.size() == 1) {
+                log.error("[ViewCountBuffer] dropping {} views for placeId {}: {}",
+                        batch.get(placeIds.get(0)), placeIds.get(0), e.getMessage());
+            } else {
+                int middle = placeIds.size() / 2;
+                writeOrSplit(placeIds.subList(0, middle), deltas, unwritten);
+                writeOrSplit(placeIds.subList(middle, placeIds.size()), deltas, unwritten);
+                return;
+            }
+        }
+        placeIds.forEach(unwritten::remove);
+    }
+
+    /**
+     * 다시 시도해도 같은 결과인 오류 (제약 조건 위반, 잘못된 값 등). 연결 실패/timeout은 제외
+     */
+    private static boolean isDataError(Exception e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void write(Map<String, Long> deltas) {
+        if (!storeSchemaInitializer.isPostgreSql()) {
+            // ON CONFLICT를 지원하지 않는 DB (로컬 H2 등): place별 read-modify-write
+            deltas.forEach(this::addWithEntity);
+            return;
+        }
+        // upsert 한 문장 + RETURNING으로 반영 후 조회수를 받아 캐시 갱신
+        ViewCountDeltas arrays = ViewCountDeltas.of(deltas);
+        List<PlaceViewCount> updated = placeViewRepository.incrementViewCounts(arrays.placeIds(), arrays.counts());
+        long now = System.currentTimeMillis();
+        for (PlaceViewCount count : updated) {
+            remember(count.getPlaceId(), count.getViewCount(), now);
+        }
+    }
+
+    private void addWithEntity(String placeId, long delta) {
+        PlaceView placeView = placeViewRepository.findByPlaceId(placeId).orElseGet(() -> {
+            PlaceView created = new PlaceView();
+            created.setPlaceId(placeId);
+            created.setViewCount(0L);
+            created.setLast10MinViewCount(0L);
+            created.update10MinSnapshot();
+            return created;
+        });
+        placeView.setViewCount(placeView.getViewCount() + delta);
+        remember(placeId, placeViewRepository.save(placeView).getViewCount(), System.currentTimeMillis());
+    }
+
+    private record PersistedCount(long count, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.ceseats.service.view;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * place별 조회수 증가분 (PlaceViewRepository.incrementViewCounts의 배열 파라미터)
+ * - 같은 place_id는 합산 (한 upsert 문장에 같은 place_id가 두 번 나오면 ON CONFLICT가 실패)
+ * - place_id 순서로 정렬 (여러 인스턴스가 동시에 반영해도 행 잠금 순서가 같도록)
+ * - placeIds()/counts()는 같은 순서의 배열
+ */
+public class ViewCountDeltas {
+
+    private final TreeMap<String, Long> deltas = new TreeMap<>();
+
+    public static ViewCountDeltas of(Map<String, Long> deltas) {
+        ViewCountDeltas result = new ViewCountDeltas();
+        deltas.forEach(result::add);
+        return result;
+    }
+
+    public void add(String placeId, long count) {
+        deltas.merge(placeId, count, Long::sum);
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    public void forEach(BiConsumer<String, Long> action) {
+        deltas.forEach(action);
+    }
+
+    public String[] placeIds() {
+        return deltas.keySet().toArray(new String[0]);
+    }
+
+    public Long[] counts() {
+        return deltas.values().toArray(new Long[0]);
+    }
+}
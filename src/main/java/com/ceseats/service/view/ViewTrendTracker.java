@@ -0,0 +1,470 @@
+package com.ceseats.service.view;
+
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 장소별 최근 조회 추이 (view.trend.enabled=true)
+ * - 최근 window-minutes 동안의 조회수: bucket-seconds 단위 시간 bucket의 합 (스냅샷 시점에 0으로 떨어지지 않는 sliding window)
+ * - 인기 점수: half-life-minutes 반감기로 지수 감쇠하는 조회수 합
+ * 조회 1건 기록은 O(1) (place별 ring buffer bucket 하나 + 감쇠 점수 갱신), PostgreSQL을 사용하지 않음
+ *
+ * shared=true면 flush 주기마다 증가분을 Redis에 모아 여러 인스턴스(blue/green)의 조회를 합산
+ *   trend:views:<bucket>       hash  field = placeId, value = bucket 내 조회수 (window 경과 후 만료)
+ *   trend:score:<generation>   zset  member = placeId, score = 조회수 × e^((bucket 시작 - generation 시작) / tau)
+ * 감쇠 점수는 forward decay로 저장하여 조회 시 e^(-(now - generation 시작) / tau)를 곱함
+ * generation(1일)마다 새 키를 써서 지수가 커지지 않게 하고, 조회 시 현재/이전 generation을 합산
+ * 정렬/커서용 순위 키(rankKeys)는 ln(Σ 조회수 × e^(조회 시각 / tau)): 감쇠 점수와 순서가 같고 시간이 지나도 값이 변하지 않음
+ * Redis 장애 시 인스턴스 로컬 값으로 응답
+ */
+@Slf4j
+@Component
+public class ViewTrendTracker {
+
+    private static final String BUCKET_KEY_PREFIX = "trend:views:";
+    private static final String SCORE_KEY_PREFIX = "trend:score:";
+    private static final long GENERATION_MS = 24L * 60 * 60 * 1000;
+    // 이보다 작은 감쇠 점수는 0으로 보고 로컬 추이를 정리
+    private static final double MIN_SCORE = 0.01;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    @Value("${view.trend.enabled:true}")
+    private boolean enabled;
+
+    @Value("${view.trend.shared:true}")
+    private boolean shared;
+
+    @Value("${view.trend.window-minutes:10}")
+    private int windowMinutes;
+
+    @Value("${view.trend.bucket-seconds:60}")
+    private int bucketSeconds;
+
+    @Value("${view.trend.half-life-minutes:30}")
+    private double halfLifeMinutes;
+
+    private final Map<String, Trend> trends = new ConcurrentHashMap<>();
+    // Redis에 아직 반영하지 않은 증가분: bucket → placeId → 조회수
+    private final Map<Long, Map<String, LongAdder>> pending = new ConcurrentHashMap<>();
+    private volatile long lastCleanupAt = System.currentTimeMillis();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    public void record(String placeId) {
+        record(placeId, System.currentTimeMillis(), 1L);
+    }
+
+    /**
+     * 조회 기록
+     * @param timestampMs 조회 시각. 미래 시각은 현재로 보정하고, window보다 오래된 조회는 감쇠 점수에만 반영
+     */
+    public void record(String placeId, long timestampMs, long count) {
+        if (!enabled || count <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long timestamp = Math.min(timestampMs, now);
+        long bucket = bucketOf(timestamp);
+        boolean inWindow = bucket > bucketOf(now) - windowBuckets();
+        trends.computeIfAbsent(placeId, id -> new Trend(windowBuckets())).add(bucket, inWindow, timestamp, count, tauMs());
+        if (shared) {
+            pending.computeIfAbsent(bucket, b -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(placeId, id -> new LongAdder()).add(count);
+        }
+    }
+
+    /**
+     * 최근 window-minutes 동안의 조회수 (없는 장소는 0)
+     */
+    public Map<String, Long> windowCounts(List<String> placeIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (placeIds.isEmpty()) {
+            return counts;
+        }
+        long nowBucket = bucketOf(System.currentTimeMillis());
+        if (useRedis()) {
+            try {
+                List<Long> buckets = windowBucketList(nowBucket);
+                List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    byte[][] fields = toBytes(placeIds);
+                    for (long bucket : buckets) {
+                        connection.hashCommands().hMGet(bytes(BUCKET_KEY_PREFIX + bucket), fields);
+                    }
+                    return null;
+                });
+                for (Object reply : replies) {
+                    if (!(reply instanceof List<?> values)) continue;
+                    for (int i = 0; i < placeIds.size() && i < values.size(); i++) {
+                        if (values.get(i) != null) {
+                            counts.merge(placeIds.get(i), Long.parseLong(values.get(i).toString()), Long::sum);
+                        }
+                    }
+                }
+                // 아직 flush되지 않은 이 인스턴스의 증가분
+                for (long bucket : buckets) {
+                    Map<String, LongAdder> bucketPending = pending.get(bucket);
+                    if (bucketPending == null) continue;
+                    for (String placeId : placeIds) {
+                        LongAdder adder = bucketPending.get(placeId);
+                        if (adder != null) {
+                            counts.merge(placeId, adder.sum(), Long::sum);
+                        }
+                    }
+                }
+                return counts;
+            } catch (Exception e) {
+                redisConnectionMonitor.markFailure(e);
+                log.warn("[ViewTrendTracker] redis window read failed, using local counts: {}", e.getMessage());
+                counts.clear();
+            }
+        }
+        for (String placeId : placeIds) {
+            Trend trend = trends.get(placeId);
+            if (trend != null) {
+                counts.put(placeId, trend.windowCount(nowBucket));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 현재 시각 기준 감쇠 인기 점수 (없는 장소는 0)
+     */
+    public Map<String, Double> scores(List<String> placeIds) {
+        Map<String, Double> scores = new HashMap<>();
+        if (placeIds.isEmpty()) {
+            return scores;
+        }
+        long now = System.currentTimeMillis();
+        double tau = tauMs();
+        if (useRedis()) {
+            try {
+                long generation = now / GENERATION_MS;
+                List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    byte[][] members = toBytes(placeIds);
+                    connection.zSetCommands().zMScore(bytes(SCORE_KEY_PREFIX + generation), members);
+                    connection.zSetCommands().zMScore(bytes(SCORE_KEY_PREFIX + (generation - 1)), members);
+                    return null;
+                });
+                for (int g = 0; g < replies.size(); g++) {
+                    if (!(replies.get(g) instanceof List<?> values)) continue;
+                    double decay = Math.exp(-(now - (generation - g) * GENERATION_MS) / tau);
+                    for (int i = 0; i < placeIds.size() && i < values.size(); i++) {
+                        if (values.get(i) instanceof Number score) {
+                            scores.merge(placeIds.get(i), score.doubleValue() * decay, Double::sum);
+                        }
+                    }
+                }
+                for (Map.Entry<Long, Map<String, LongAdder>> entry : pending.entrySet()) {
+                    double decay = Math.exp(-Math.max(0L, now - entry.getKey() * bucketMs()) / tau);
+                    for (String placeId : placeIds) {
+                        LongAdder adder = entry.getValue().get(placeId);
+                        if (adder != null) {
+                            scores.merge(placeId, adder.sum() * decay, Double::sum);
+                        }
+                    }
+                }
+                return scores;
+            } catch (Exception e) {
+                redisConnectionMonitor.markFailure(e);
+                log.warn("[ViewTrendTracker] redis score read failed, using local scores: {}", e.getMessage());
+                scores.clear();
+            }
+        }
+        for (String placeId : placeIds) {
+            Trend trend = trends.get(placeId);
+            if (trend != null) {
+                scores.put(placeId, trend.score(now, tau));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 인기 순위 키 (없는 장소는 map에 없음, 호출한 쪽에서 NEGATIVE_INFINITY로 취급)
+     * 어느 시각의 감쇠 점수와도 순서가 같고, 새 조회가 없으면 값이 그대로라 keyset 커서에 저장해도 페이지 사이에 밀리지 않음
+     * 지수가 커지지 않도록 로그 값으로 계산
+     */
+    public Map<String, Double> rankKeys(List<String> placeIds) {
+        Map<String, Double> keys = new HashMap<>();
+        if (placeIds.isEmpty()) {
+            return keys;
+        }
+        double tau = tauMs();
+        if (useRedis()) {
+            try {
+                long generation = System.currentTimeMillis() / GENERATION_MS;
+                List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    byte[][] members = toBytes(placeIds);
+                    connection.zSetCommands().zMScore(bytes(SCORE_KEY_PREFIX + generation), members);
+                    connection.zSetCommands().zMScore(bytes(SCORE_KEY_PREFIX + (generation - 1)), members);
+                    return null;
+                });
+                for (int g = 0; g < replies.size(); g++) {
+                    if (!(replies.get(g) instanceof List<?> values)) continue;
+                    // generation 점수는 generation 시작 기준 forward decay 값
+                    double offset = (generation - g) * GENERATION_MS / tau;
+                    for (int i = 0; i < placeIds.size() && i < values.size(); i++) {
+                        if (values.get(i) instanceof Number score && score.doubleValue() > 0) {
+                            keys.merge(placeIds.get(i), Math.log(score.doubleValue()) + offset, ViewTrendTracker::logSumExp);
+                        }
+                    }
+                }
+                for (Map.Entry<Long, Map<String, LongAdder>> entry : pending.entrySet()) {
+                    double offset = entry.getKey() * bucketMs() / tau;
+                    for (String placeId : placeIds) {
+                        LongAdder adder = entry.getValue().get(placeId);
+                        long count = adder != null ? adder.sum() : 0L;
+                        if (count > 0) {
+                            keys.merge(placeId, Math.log(count) + offset, ViewTrendTracker::logSumExp);
+                        }
+                    }
+                }
+                return keys;
+            } catch (Exception e) {
+                redisConnectionMonitor.markFailure(e);
+                log.warn("[ViewTrendTracker] redis rank key read failed, using local keys: {}", e.getMessage());
+                keys.clear();
+            }
+        }
+        for (String placeId : placeIds) {
+            Trend trend = trends.get(placeId);
+            if (trend != null && trend.hasScore()) {
+                keys.put(placeId, trend.rankKey(tau));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * ln(e^a + e^b)
+     */
+    private static double logSumExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    @Scheduled(fixedDelayString = "${view.trend.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        if (!enabled) {
+            return;
+        }
+        if (shared) {
+            flush();
+        }
+        if (System.currentTimeMillis() - lastCleanupAt > windowMinutes * 60_000L) {
+            cleanup();
+        }
+    }
+
+    /**
+     * 누적된 증가분을 Redis에 반영 (bucket hash HINCRBY + 감쇠 점수 ZINCRBY, 파이프라인 한 번)
+     * 실패 시 증가분을 되돌려 다음 주기에 재시도
+     */
+    public synchronized void flush() {
+        long nowBucket = bucketOf(System.currentTimeMillis());
+        Map<Long, Map<String, Long>> deltas = new HashMap<>();
+        for (Map.Entry<Long, Map<String, LongAdder>> entry : pending.entrySet()) {
+            Map<String, Long> bucketDeltas = new HashMap<>();
+            for (Map.Entry<String, LongAdder> placeEntry : entry.getValue().entrySet()) {
+                long delta = placeEntry.getValue().sumThenReset();
+                if (delta > 0) {
+                    bucketDeltas.put(placeEntry.getKey(), delta);
+                }
+            }
+            if (!bucketDeltas.isEmpty()) {
+                deltas.put(entry.getKey(), bucketDeltas);
+            }
+            // 지난 bucket은 더 이상 기록되지 않으므로 제거 (경계 시각에 늦게 들어온 조회는 다음 bucket으로 보지 않고 버려질 수 있음)
+            if (entry.getKey() < nowBucket) {
+                pending.remove(entry.getKey());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!redisConnectionMonitor.isHealthy()) {
+            restore(deltas);
+            return;
+        }
+        double tau = tauMs();
+        long bucketTtlSeconds = (long) (windowBuckets() + 1) * bucketSeconds;
+        long scoreTtlSeconds = 2 * GENERATION_MS / 1000;
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map.Entry<Long, Map<String, Long>> entry : deltas.entrySet()) {
+                    long bucketStart = entry.getKey() * bucketMs();
+                    long generation = bucketStart / GENERATION_MS;
+                    double weight = Math.exp((bucketStart - generation * GENERATION_MS) / tau);
+                    byte[] bucketKey = bytes(BUCKET_KEY_PREFIX + entry.getKey());
+                    byte[] scoreKey = bytes(SCORE_KEY_PREFIX + generation);
+                    for (Map.Entry<String, Long> placeEntry : entry.getValue().entrySet()) {
+                        byte[] placeId = bytes(placeEntry.getKey());
+                        connection.hashCommands().hIncrBy(bucketKey, placeId, placeEntry.getValue());
+                        connection.zSetCommands().zIncrBy(scoreKey, placeEntry.getValue() * weight, placeId);
+                    }
+                    connection.keyCommands().expire(bucketKey, bucketTtlSeconds);
+                    connection.keyCommands().expire(scoreKey, scoreTtlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            restore(deltas);
+            redisConnectionMonitor.markFailure(e);
+            log.error("[ViewTrendTracker] flush failed for {} buckets: {}", deltas.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Redis에 반영하지 못한 증가분 되돌리기
+     * Redis 장애가 길어져도 pending이 계속 늘지 않도록 window 안의 bucket만 유지 (그 사이 조회는 로컬 추이로 응답)
+     */
+    private void restore(Map<Long, Map<String, Long>> deltas) {
+        long oldestBucket = bucketOf(System.currentTimeMillis()) - windowBuckets();
+        deltas.forEach((bucket, bucketDeltas) -> {
+            if (bucket <= oldestBucket) {
+                return;
+            }
+            bucketDeltas.forEach((placeId, delta) -> pending.computeIfAbsent(bucket, b -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(placeId, id -> new LongAdder()).add(delta));
+        });
+    }
+
+    /**
+     * window가 지났고 점수도 거의 0인 로컬 추이 제거 (조회된 적 있는 장소 수만큼 메모리가 늘지 않도록)
+     */
+    private void cleanup() {
+        long now = System.currentTimeMillis();
+        long nowBucket = bucketOf(now);
+        double tau = tauMs();
+        trends.entrySet().removeIf(entry -> entry.getValue().isIdle(nowBucket, now, tau));
+        lastCleanupAt = now;
+    }
+
+    private boolean useRedis() {
+        return shared && redisConnectionMonitor.isHealthy();
+    }
+
+    private List<Long> windowBucketList(long nowBucket) {
+        Long[] buckets = new Long[windowBuckets()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = nowBucket - i;
+        }
+        return List.of(buckets);
+    }
+
+    private int windowBuckets() {
+        return Math.max(1, windowMinutes * 60 / bucketSeconds);
+    }
+
+    private long bucketMs() {
+        return bucketSeconds * 1000L;
+    }
+
+    private long bucketOf(long timestampMs) {
+        return timestampMs / bucketMs();
+    }
+
+    private double tauMs() {
+        return halfLifeMinutes * 60_000.0 / Math.log(2);
+    }
+
+    private static byte[][] toBytes(List<String> values) {
+        byte[][] result = new byte[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            result[i] = bytes(values.get(i));
+        }
+        return result;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 한 장소의 로컬 추이: 시간 bucket ring buffer + 감쇠 점수 (score는 scoreAt 시점 값)
+     */
+    static final class Trend {
+        private final long[] bucketIds;
+        private final long[] counts;
+        private double score;
+        private long scoreAt;
+
+        Trend(int size) {
+            bucketIds = new long[size];
+            counts = new long[size];
+        }
+
+        synchronized void add(long bucket, boolean inWindow, long timestamp, long count, double tau) {
+            if (inWindow) {
+                int slot = (int) Math.floorMod(bucket, (long) counts.length);
+                if (bucketIds[slot] < bucket) {
+                    bucketIds[slot] = bucket;
+                    counts[slot] = 0;
+                }
+                if (bucketIds[slot] == bucket) {
+                    counts[slot] += count;
+                }
+            }
+            if (timestamp >= scoreAt) {
+                score = score * Math.exp(-(timestamp - scoreAt) / tau) + count;
+                scoreAt = timestamp;
+            } else {
+                score += count * Math.exp(-(scoreAt - timestamp) / tau);
+            }
+        }
+
+        synchronized long windowCount(long nowBucket) {
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (bucketIds[i] > nowBucket - counts.length) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+
+        synchronized double score(long now, double tau) {
+            return score * Math.exp(-Math.max(0L, now - scoreAt) / tau);
+        }
+
+        synchronized boolean hasScore() {
+            return score > 0;
+        }
+
+        /**
+         * ln(score) + scoreAt / tau = ln(Σ 조회수 × e^(조회 시각 / tau)). 조회 시각과 무관
+         */
+        synchronized double rankKey(double tau) {
+            return Math.log(score) + scoreAt / tau;
+        }
+
+        synchronized boolean isIdle(long nowBucket, long now, double tau) {
+            return windowCount(nowBucket) == 0 && score(now, tau) < MIN_SCORE;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.ceseats.config.redis.codec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactRedisSerializerTest {
+
+    private static final int COMPRESS_THRESHOLD = 512;
+
+    private final RedisSerializer<Object> json = new GenericJackson2JsonRedisSerializer();
+    private final CompactRedisSerializer compact = serializer(true);
+
+    private CompactRedisSerializer serializer(boolean writeCompact) {
+        return new CompactRedisSerializer(
+                List.of(new StringCodec(), StringCollectionCodec.list(), StringCollectionCodec.set()),
+                json, COMPRESS_THRESHOLD, writeCompact);
+    }
+
+    @Test
+    void stringRoundTrip() {
+        byte[] bytes = compact.serialize("카페 ☕ cafe");
+
+        assertEquals(CompactRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(StringCodec.TAG, bytes[2]);
+        assertEquals("카페 ☕ cafe", compact.deserialize(bytes));
+    }
+
+    @Test
+    void listRoundTripKeepsOrderAndDuplicates() {
+        List<String> types = new ArrayList<>(List.of("restaurant", "bar", "restaurant", ""));
+
+        byte[] bytes = compact.serialize(types);
+
+        assertEquals(StringCollectionCodec.LIST_TAG, bytes[2]);
+        Object decoded = compact.deserialize(bytes);
+        assertInstanceOf(List.class, decoded);
+        assertEquals(types, decoded);
+    }
+
+    @Test
+    void setRoundTrip() {
+        Set<String> placeIds = new LinkedHashSet<>(List.of("p1", "p2", "p3"));
+
+        byte[] bytes = compact.serialize(placeIds);
+
+        assertEquals(StringCollectionCodec.SET_TAG, bytes[2]);
+        Object decoded = compact.deserialize(bytes);
+        assertInstanceOf(Set.class, decoded);
+        assertEquals(new ArrayList<>(placeIds), new ArrayList<>((Set<?>) decoded));
+    }
+
+    @Test
+    void emptyListRoundTrip() {
+        assertEquals(List.of(), compact.deserialize(compact.serialize(new ArrayList<String>())));
+    }
+
+    @Test
+    void largeValueIsGzipped() {
+        List<String> placeIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            placeIds.add("ChIJplace" + i);
+        }
+
+        byte[] bytes = compact.serialize(placeIds);
+
+        assertEquals(1, bytes[1] & 0x01);
+        assertEquals(placeIds, compact.deserialize(bytes));
+    }
+
+    @Test
+    void smallValueIsNotGzipped() {
+        assertEquals(0, compact.serialize("short")[1] & 0x01);
+    }
+
+    @Test
+    void readsLegacyJsonValues() {
+        List<String> types = new ArrayList<>(List.of("cafe", "bakery"));
+
+        assertEquals(types, compact.deserialize(json.serialize(types)));
+        assertEquals("done", compact.deserialize(json.serialize("done")));
+        assertEquals(42, compact.deserialize(json.serialize(42)));
+    }
+
+    @Test
+    void unsupportedValuesFallBackToJson() {
+        List<Integer> numbers = new ArrayList<>(List.of(1, 2, 3));
+        Map<String, Object> map = new HashMap<>(Map.of("k", "v"));
+
+        assertNotEquals(CompactRedisSerializer.MAGIC, compact.serialize(numbers)[0]);
+        assertEquals(numbers, compact.deserialize(compact.serialize(numbers)));
+        assertEquals(map, compact.deserialize(compact.serialize(map)));
+    }
+
+    @Test
+    void writeCompactDisabledWritesJsonReadableByBoth() {
+        CompactRedisSerializer jsonWriter = serializer(false);
+        List<String> types = new ArrayList<>(List.of("cafe"));
+
+        byte[] bytes = jsonWriter.serialize(types);
+
+        assertNotEquals(CompactRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(types, json.deserialize(bytes));
+        assertEquals(types, compact.deserialize(bytes));
+        // compact 값도 읽을 수 있음 (전환 중 다른 인스턴스가 쓴 값)
+        assertEquals(types, jsonWriter.deserialize(compact.serialize(types)));
+    }
+
+    @Test
+    void nullAndEmpty() {
+        assertEquals(0, compact.serialize(null).length);
+        assertNull(compact.deserialize(null));
+        assertNull(compact.deserialize(new byte[0]));
+    }
+
+    @Test
+    void unknownTagFails() {
+        byte[] bytes = {CompactRedisSerializer.MAGIC, 0, 99, 1, 2};
+
+        assertThrows(SerializationException.class, () -> compact.deserialize(bytes));
+    }
+}
@@ -0,0 +1,51 @@
+package com.ceseats.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlaceCategoryTest {
+
+    @Test
+    void categoryFollowsRestaurantCafeFastfoodBarPrecedence() {
+        assertEquals("restaurant", PlaceCategory.categoryOf(List.of("bar", "cafe", "fast_food_restaurant", "restaurant")));
+        assertEquals("cafe", PlaceCategory.categoryOf(List.of("bar", "fast_food_restaurant", "coffee_shop")));
+        assertEquals("fastfood", PlaceCategory.categoryOf(List.of("night_club", "fast_food_restaurant")));
+        assertEquals("bar", PlaceCategory.categoryOf(List.of("food", "night_club")));
+        assertEquals("other", PlaceCategory.categoryOf(List.of("food", "point_of_interest")));
+        assertEquals("other", PlaceCategory.categoryOf((List<String>) null));
+    }
+
+    @Test
+    void takeawayAndFastFoodTypesAreFastfoodCategory() {
+        // 저장 시 분류는 fast_food_restaurant 외에 meal_takeaway/fast_food도 fastfood로 봄
+        assertEquals("fastfood", PlaceCategory.categoryOf(List.of("meal_takeaway", "food")));
+        assertEquals("fastfood", PlaceCategory.categoryOf(List.of("fast_food")));
+        assertEquals("restaurant", PlaceCategory.categoryOf(List.of("meal_takeaway", "restaurant")));
+    }
+
+    @Test
+    void storedMaskGivesSameCategoryAsTypes() {
+        List<String> types = List.of("bakery", "cafe", "food");
+
+        assertEquals(PlaceCategory.categoryOf(types), PlaceCategory.categoryOf(PlaceCategory.typeMask(types)));
+    }
+
+    @Test
+    void storedCategoryWinsOverTypes() {
+        assertEquals("bar", PlaceCategory.categoryOf("bar", List.of("restaurant")));
+        assertEquals("restaurant", PlaceCategory.categoryOf(null, List.of("restaurant")));
+    }
+
+    @Test
+    void displayTypePrefersFastfoodThenFirstSupportedType() {
+        assertEquals("fastfood", PlaceCategory.displayTypeOf(List.of("restaurant", "meal_takeaway")));
+        assertEquals("fastfood", PlaceCategory.displayTypeOf(List.of("cafe", "fast_food")));
+        assertEquals("bakery", PlaceCategory.displayTypeOf(List.of("point_of_interest", "bakery", "cafe")));
+        assertEquals("restaurant", PlaceCategory.displayTypeOf(List.of("fast_food_restaurant", "restaurant")));
+        assertEquals("other", PlaceCategory.displayTypeOf(List.of("point_of_interest", "establishment")));
+        assertEquals("other", PlaceCategory.displayTypeOf(List.of()));
+    }
+}
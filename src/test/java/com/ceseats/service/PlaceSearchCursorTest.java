@@ -0,0 +1,61 @@
+package com.ceseats.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlaceSearchCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PlaceSearchCursor cursor = new PlaceSearchCursor("view_desc", -42.0, 1.234567, "ChIJ|with|pipes");
+
+        assertEquals(cursor, PlaceSearchCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void unviewedPlaceKeyRoundTrips() {
+        // 조회가 없는 장소의 view_desc 정렬 키
+        PlaceSearchCursor cursor = new PlaceSearchCursor("view_desc", Double.POSITIVE_INFINITY, 0.5, "p1");
+
+        assertEquals(cursor, PlaceSearchCursor.decode(cursor.encode()));
+        assertTrue(new PlaceSearchCursor("view_desc", -3.0, 9.0, "z").isBefore(cursor));
+    }
+
+    @Test
+    void blankCursorDecodesToNull() {
+        assertNull(PlaceSearchCursor.decode(null));
+        assertNull(PlaceSearchCursor.decode(" "));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> PlaceSearchCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> PlaceSearchCursor.decode(encodeRaw("distance|1.0")));
+        assertThrows(InvalidCursorException.class, () -> PlaceSearchCursor.decode(encodeRaw("distance|x|1.0|p1")));
+        assertThrows(InvalidCursorException.class, () -> PlaceSearchCursor.decode(encodeRaw("distance|1.0|1.0|")));
+    }
+
+    @Test
+    void orderIsSortKeyThenDistanceThenPlaceId() {
+        PlaceSearchCursor base = new PlaceSearchCursor("distance", 1.0, 1.0, "b");
+
+        assertTrue(base.isBefore(new PlaceSearchCursor("distance", 2.0, 0.5, "a")));
+        assertTrue(base.isBefore(new PlaceSearchCursor("distance", 1.0, 1.5, "a")));
+        assertTrue(base.isBefore(new PlaceSearchCursor("distance", 1.0, 1.0, "c")));
+        assertFalse(base.isBefore(new PlaceSearchCursor("distance", 1.0, 1.0, "b")));
+        assertFalse(base.isBefore(new PlaceSearchCursor("distance", 0.5, 9.0, "z")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ceseats.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypesHashStoreTest {
+
+    @Test
+    void encodedValueKeepsOrderAndFitsListpackValue() {
+        List<String> types = List.of("fast_food_restaurant", "hamburger_restaurant", "american_restaurant",
+                "restaurant", "food", "point_of_interest", "establishment");
+
+        String encoded = TypesHashStore.encode(types);
+
+        assertEquals(types, TypesHashStore.split(encoded));
+        assertTrue(encoded.length() <= 64, encoded);
+        assertTrue(String.join(",", types).length() > 64);
+    }
+
+    @Test
+    void unknownTypesAreWrittenByName() {
+        List<String> types = List.of("restaurant", "karaoke", "establishment");
+
+        assertEquals("3,karaoke,1", TypesHashStore.encode(types));
+        assertEquals(types, TypesHashStore.split("3,karaoke,1"));
+    }
+
+    @Test
+    void readsNameJoinedValues() {
+        assertEquals(List.of("cafe", "food", "point_of_interest"), TypesHashStore.split("cafe,food,point_of_interest"));
+        assertEquals(List.of(), TypesHashStore.split(""));
+    }
+}
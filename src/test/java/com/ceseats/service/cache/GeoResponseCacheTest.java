@@ -0,0 +1,139 @@
+package com.ceseats.service.cache;
+
+import com.ceseats.service.geo.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GeoResponseCacheTest {
+
+    private static final double CELL = 0.001;
+    // 격자 경계 바로 안쪽 (다음 격자로 넘어가지 않도록)
+    private static final double EDGE = 1e-9;
+
+    private GeoResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GeoResponseCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "cellSizeDeg", CELL);
+        ReflectionTestUtils.setField(cache, "radiusBucketMeters", 100);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @Test
+    void cornerRequestsMatchUncachedQuery() {
+        List<Place> places = randomPlaces(36.1147, -115.1728, 0.01, 600);
+        double cellLat = Math.floor(36.1147 / CELL) * CELL;
+        double cellLon = Math.floor(-115.1728 / CELL) * CELL;
+        double[][] corners = {
+                {cellLat, cellLon},
+                {cellLat, cellLon + CELL - EDGE},
+                {cellLat + CELL - EDGE, cellLon},
+                {cellLat + CELL - EDGE, cellLon + CELL - EDGE},
+        };
+        // 250~349m는 같은 300m bucket
+        for (int radiusMeters : new int[]{250, 300, 349}) {
+            for (Integer limit : new Integer[]{null, 1, 5, 20}) {
+                for (double[] corner : corners) {
+                    assertEquals(uncached(places, corner[0], corner[1], radiusMeters, limit),
+                            cached(places, corner[0], corner[1], radiusMeters, limit),
+                            "radius " + radiusMeters + ", limit " + limit + ", at " + corner[0] + "," + corner[1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void limitCutAtDistanceTieKeepsAllTiedCandidates() {
+        double cellLat = Math.floor(36.1147 / CELL) * CELL;
+        double cellLon = Math.floor(-115.1728 / CELL) * CELL;
+        double centerLat = cellLat + CELL / 2;
+        double centerLon = cellLon + CELL / 2;
+        double dLat = Math.toDegrees(0.2 / GeoUtils.EARTH_RADIUS_KM);
+        // 격자 중심에서 같은 거리(200m)의 북/남 두 장소 + 더 먼 장소
+        List<Place> places = List.of(
+                new Place("north", centerLat + dLat, centerLon),
+                new Place("south", centerLat - dLat, centerLon),
+                new Place("far", centerLat + 3 * dLat, centerLon));
+
+        GeoResponseCache.Cover cover = cache.coverOf(centerLat, centerLon, 500);
+        List<String> candidates = cover.candidatesFor(places, p -> cover.distanceKm(p.lat(), p.lon()), 1).stream()
+                .map(Place::id).collect(Collectors.toList());
+
+        assertEquals(List.of("north", "south"), candidates.stream().sorted().toList());
+        // 격자 남쪽 끝에서는 south가, 북쪽 끝에서는 north가 가장 가까움
+        assertEquals(List.of("south"), cached(places, cellLat, centerLon, 500, 1));
+        assertEquals(List.of("north"), cached(places, cellLat + CELL - EDGE, centerLon, 500, 1));
+    }
+
+    @Test
+    void invalidateNearRemovesEntriesUpToCoverRadius() {
+        double latitude = 36.1147;
+        double longitude = -115.1728;
+        GeoResponseCache.Cover cover = cache.coverOf(latitude, longitude, 300);
+        double onRadius = cover.latitude() + Math.toDegrees((cover.radiusKm() - 1e-6) / GeoUtils.EARTH_RADIUS_KM);
+        double outside = cover.latitude() + Math.toDegrees((cover.radiusKm() + 0.01) / GeoUtils.EARTH_RADIUS_KM);
+
+        cache.putRecommendations(latitude, longitude, 300, 10, List.of());
+        cache.invalidateNear(outside, cover.longitude());
+        assertNotNull(cache.getRecommendations(latitude, longitude, 300, 10));
+
+        cache.invalidateNear(onRadius, cover.longitude());
+        assertNull(cache.getRecommendations(latitude, longitude, 300, 10));
+    }
+
+    /**
+     * 캐시 없이 요청 좌표/반경으로 직접 조회한 결과 (거리 → id 순)
+     */
+    private static List<String> uncached(List<Place> places, double lat, double lon, int radiusMeters, Integer limit) {
+        return places.stream()
+                .filter(p -> GeoUtils.distanceKm(lat, lon, p.lat(), p.lon()) <= radiusMeters / 1000.0)
+                .sorted(byDistanceFrom(lat, lon))
+                .limit(limit != null ? limit : Long.MAX_VALUE)
+                .map(Place::id)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * PlaceService/RecommendationService와 같은 방식: 격자 중심 기준 후보 → 요청 좌표/반경으로 다시 거르고 정렬
+     */
+    private List<String> cached(List<Place> places, double lat, double lon, int radiusMeters, Integer limit) {
+        GeoResponseCache.Cover cover = cache.coverOf(lat, lon, radiusMeters);
+        List<Place> inCover = places.stream()
+                .filter(p -> cover.distanceKm(p.lat(), p.lon()) <= cover.radiusKm())
+                .collect(Collectors.toList());
+        List<Place> candidates = cover.candidatesFor(inCover, p -> cover.distanceKm(p.lat(), p.lon()), limit);
+        return uncached(candidates, lat, lon, radiusMeters, limit);
+    }
+
+    private static Comparator<Place> byDistanceFrom(double lat, double lon) {
+        return Comparator.comparingDouble((Place p) -> GeoUtils.distanceKm(lat, lon, p.lat(), p.lon()))
+                .thenComparing(Place::id);
+    }
+
+    private static List<Place> randomPlaces(double lat, double lon, double spreadDeg, int count) {
+        Random random = new Random(7);
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            places.add(new Place("p" + i, lat + (random.nextDouble() - 0.5) * spreadDeg,
+                    lon + (random.nextDouble() - 0.5) * spreadDeg));
+        }
+        return places;
+    }
+
+    private record Place(String id, double lat, double lon) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.ceseats.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTopKTest {
+
+    @Test
+    void selectsSmallestKInOrder() {
+        Random random = new Random(7);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(random.nextInt(10_000));
+        }
+
+        List<Integer> top = BoundedTopK.select(items, 25, Comparator.naturalOrder());
+
+        List<Integer> expected = items.stream().sorted().limit(25).collect(Collectors.toList());
+        assertEquals(expected, top);
+    }
+
+    @Test
+    void returnsAllWhenFewerThanK() {
+        assertEquals(List.of(1, 2, 3), BoundedTopK.select(List.of(3, 1, 2), 10, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void zeroKReturnsEmpty() {
+        assertTrue(BoundedTopK.select(List.of(3, 1, 2), 0, Comparator.<Integer>naturalOrder()).isEmpty());
+    }
+
+    @Test
+    void tiesKeepInsertionOrder() {
+        List<String> items = List.of("b1", "a1", "b2", "a2", "a3", "b3");
+        Comparator<String> byLetter = Comparator.comparing(s -> s.charAt(0));
+
+        assertEquals(List.of("a1", "a2"), BoundedTopK.select(items, 2, byLetter));
+        assertEquals(List.of("a1", "a2", "a3", "b1", "b2"), BoundedTopK.select(items, 5, byLetter));
+    }
+}
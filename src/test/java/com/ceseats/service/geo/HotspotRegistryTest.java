@@ -0,0 +1,89 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.repository.StoreLocation;
+import com.ceseats.repository.StoreSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HotspotRegistryTest {
+
+    private static final double LAT = 36.1147;
+    private static final double LON = -115.1728;
+    private static final int RADIUS_M = 1000;
+
+    private final List<StoreSummary> stores = new ArrayList<>();
+    private HotspotRegistry registry;
+    private HotspotRegistry.Hotspot hotspot;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        for (int i = 0; i < 800; i++) {
+            stores.add(new StoreLocation("p" + i, "p" + i, LAT + (random.nextDouble() - 0.5) * 0.04,
+                    LON + (random.nextDouble() - 0.5) * 0.04, null, null, null, 0L));
+        }
+        registry = new HotspotRegistry();
+        ReflectionTestUtils.setField(registry, "enabled", true);
+        ReflectionTestUtils.setField(registry, "locationsProperty", "Venetian Expo|" + LAT + "|" + LON);
+        ReflectionTestUtils.setField(registry, "radiiProperty", String.valueOf(RADIUS_M));
+        ReflectionTestUtils.setField(registry, "snapToleranceMeters", 150);
+        registry.parse();
+        hotspot = registry.getHotspots().get(0);
+        registry.put(hotspot, RADIUS_M, bruteForce(hotspot.latitude(), hotspot.longitude(), registry.coverRadiusKm(RADIUS_M)));
+    }
+
+    @Test
+    void offCentreLookupMatchesUncachedQuery() {
+        // hotspot에서 약 140m 떨어진 요청
+        double lat = LAT + 0.0009;
+        double lon = LON + 0.0009;
+        List<StoreSummary> expected = bruteForce(lat, lon, RADIUS_M / 1000.0);
+
+        assertEquals(placeIds(expected), placeIds(registry.lookup(lat, lon, RADIUS_M / 1000.0)));
+        assertEquals(placeIds(expected.subList(0, 10)), placeIds(registry.lookup(lat, lon, RADIUS_M / 1000.0, 10)));
+    }
+
+    @Test
+    void nonStandardRadiusOrFarRequestIsNotServed() {
+        assertNull(registry.lookup(LAT, LON, 2.0));
+        assertNull(registry.lookup(LAT + 0.01, LON, RADIUS_M / 1000.0));
+    }
+
+    @Test
+    void dirtyListIsNotServedUntilReplaced() {
+        registry.markDirtyIfCovers(hotspot, RADIUS_M, LAT + 0.005, LON);
+        assertNull(registry.lookup(LAT, LON, RADIUS_M / 1000.0));
+
+        registry.clearDirty(hotspot, RADIUS_M);
+        registry.put(hotspot, RADIUS_M, bruteForce(LAT, LON, registry.coverRadiusKm(RADIUS_M)));
+        assertEquals(placeIds(bruteForce(LAT, LON, RADIUS_M / 1000.0)), placeIds(registry.lookup(LAT, LON, RADIUS_M / 1000.0)));
+    }
+
+    @Test
+    void saveOutsideCoverRadiusDoesNotMarkDirty() {
+        registry.markDirtyIfCovers(hotspot, RADIUS_M, LAT + 0.02, LON);
+        assertFalse(registry.isDirty(hotspot, RADIUS_M));
+    }
+
+    private List<StoreSummary> bruteForce(double lat, double lon, double radiusKm) {
+        return stores.stream()
+                .filter(s -> GeoUtils.distanceKm(lat, lon, s.getLatitude(), s.getLongitude()) <= radiusKm)
+                .sorted(Comparator.comparingDouble(s -> GeoUtils.distanceKm(lat, lon, s.getLatitude(), s.getLongitude())))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> placeIds(List<StoreSummary> stores) {
+        return stores.stream().map(StoreSummary::getPlaceId).collect(Collectors.toList());
+    }
+}
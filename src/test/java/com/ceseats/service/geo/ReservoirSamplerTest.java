@@ -0,0 +1,56 @@
+package com.ceseats.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservoirSamplerTest {
+
+    @Test
+    void returnsAllItemsWhenFewerThanSize() {
+        List<Integer> sample = ReservoirSampler.sample(List.of(1, 2, 3), 5);
+
+        assertEquals(List.of(1, 2, 3), sample);
+    }
+
+    @Test
+    void returnsSizeDistinctItemsFromInput() {
+        List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        List<Integer> sample = ReservoirSampler.sample(items, 10);
+
+        assertEquals(10, sample.size());
+        assertEquals(10, new HashSet<>(sample).size());
+        assertTrue(items.containsAll(sample));
+    }
+
+    @Test
+    void zeroSizeReturnsEmptySample() {
+        assertTrue(ReservoirSampler.sample(List.of(1, 2, 3), 0).isEmpty());
+    }
+
+    @Test
+    void eachItemIsSampledWithEqualProbability() {
+        int n = 20;
+        int size = 5;
+        int trials = 20_000;
+        int[] hits = new int[n];
+        List<Integer> items = IntStream.range(0, n).boxed().collect(Collectors.toList());
+        for (int t = 0; t < trials; t++) {
+            for (int item : ReservoirSampler.sample(items, size)) {
+                hits[item]++;
+            }
+        }
+        // 기대값 trials * size / n = 5000, 표준편차 약 61
+        double expected = (double) trials * size / n;
+        for (int i = 0; i < n; i++) {
+            assertTrue(Math.abs(hits[i] - expected) < expected * 0.1, "item " + i + " hits " + hits[i]);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.entity.Store;
+import com.ceseats.repository.StoreLocation;
+import com.ceseats.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StoreSpatialIndexTest {
+
+    private static final double LAT = 36.1147;
+    private static final double LON = -115.1728;
+
+    private final List<StoreLocation> stores = new ArrayList<>();
+    private StoreRepository storeRepository;
+    private StoreSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            stores.add(StoreLocation.of(store("p" + i, LAT + (random.nextDouble() - 0.5) * 0.2, LON + (random.nextDouble() - 0.5) * 0.2)));
+        }
+        storeRepository = mock(StoreRepository.class);
+        when(storeRepository.findAllLocations()).thenReturn(stores);
+
+        index = new StoreSpatialIndex();
+        ReflectionTestUtils.setField(index, "storeRepository", storeRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "cellSizeDeg", 0.01);
+        index.reload();
+    }
+
+    @Test
+    void findWithinRadiusMatchesBruteForce() {
+        for (double radiusKm : new double[]{0.3, 1.0, 3.0, 50.0}) {
+            List<String> expected = stores.stream()
+                    .filter(s -> GeoUtils.distanceKm(LAT, LON, s.getLatitude(), s.getLongitude()) <= radiusKm)
+                    .sorted(Comparator.comparingDouble(s -> GeoUtils.distanceKm(LAT, LON, s.getLatitude(), s.getLongitude())))
+                    .map(StoreLocation::getPlaceId)
+                    .collect(Collectors.toList());
+            List<String> actual = index.findWithinRadius(LAT, LON, radiusKm).stream()
+                    .map(result -> result.store().getPlaceId())
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "radius " + radiusKm);
+        }
+    }
+
+    @Test
+    void findNearestReturnsClosestInOrder() {
+        List<StoreDistance> all = index.findWithinRadius(LAT, LON, 5.0);
+        List<StoreDistance> nearest = index.findNearest(LAT, LON, 5.0, 10);
+
+        assertEquals(Math.min(10, all.size()), nearest.size());
+        for (int i = 0; i < nearest.size(); i++) {
+            assertEquals(all.get(i).store().getPlaceId(), nearest.get(i).store().getPlaceId());
+        }
+    }
+
+    @Test
+    void addMovesExistingStoreToNewCell() {
+        Store moved = store("p0", LAT + 1.0, LON + 1.0);
+        index.add(moved);
+
+        assertEquals(LAT + 1.0, index.get("p0").getLatitude(), 1e-9);
+        assertTrue(index.findWithinRadius(LAT, LON, 50.0).stream()
+                .noneMatch(result -> result.store().getPlaceId().equals("p0")));
+        assertEquals(1, index.findWithinRadius(LAT + 1.0, LON + 1.0, 0.1).size());
+    }
+
+    @Test
+    void addDuringReloadSurvivesSwap() {
+        Store saved = store("new", LAT, LON);
+        when(storeRepository.findAllLocations()).thenAnswer(invocation -> {
+            // DB 스냅샷을 읽은 뒤 다른 요청에서 저장된 장소
+            index.add(saved);
+            return stores;
+        });
+
+        index.reload();
+
+        assertEquals("new", index.get("new").getPlaceId());
+        assertEquals(stores.size() + 1, index.size());
+    }
+
+    @Test
+    void getUnknownPlaceReturnsNull() {
+        assertNull(index.get("unknown"));
+    }
+
+    private static Store store(String placeId, double latitude, double longitude) {
+        Store store = new Store();
+        store.setPlaceId(placeId);
+        store.setName(placeId);
+        store.setLatitude(latitude);
+        store.setLongitude(longitude);
+        return store;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ceseats.service.geo;
+
+import com.ceseats.config.redis.RedisConnectionMonitor;
+import com.ceseats.repository.StoreRepository;
+import com.ceseats.service.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TypeBitmapIndexTest {
+
+    private TypeBitmapIndex index;
+    private ReviewService reviewService;
+    private RedisConnectionMonitor redisConnectionMonitor;
+
+    @BeforeEach
+    void setUp() {
+        StoreRepository storeRepository = mock(StoreRepository.class);
+        when(storeRepository.findAllPlaceIds()).thenReturn(List.of("a", "b", "c", "d"));
+        reviewService = mock(ReviewService.class);
+        redisConnectionMonitor = mock(RedisConnectionMonitor.class);
+        when(redisConnectionMonitor.isHealthy()).thenReturn(true);
+        when(reviewService.getTypes(anyList())).thenReturn(Map.of(
+                "a", List.of("restaurant", "bar"),
+                "b", List.of("cafe"),
+                "c", List.of("restaurant")));
+
+        index = new TypeBitmapIndex();
+        ReflectionTestUtils.setField(index, "storeRepository", storeRepository);
+        ReflectionTestUtils.setField(index, "reviewService", reviewService);
+        ReflectionTestUtils.setField(index, "redisConnectionMonitor", redisConnectionMonitor);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.reload();
+    }
+
+    @Test
+    void matchAnyIsUnionOfTypes() {
+        TypeBitmapIndex.TypeFilter filter = index.matchAny(List.of("bar", "cafe", "unknown"));
+
+        assertEquals(2, filter.cardinality());
+        assertTrue(filter.test("a"));
+        assertTrue(filter.test("b"));
+        assertFalse(filter.test("c"));
+        assertFalse(filter.test("d"));
+    }
+
+    @Test
+    void matchAllIsIntersectionOfTypes() {
+        TypeBitmapIndex.TypeFilter filter = index.matchAll(List.of("restaurant", "bar"));
+
+        assertEquals(1, filter.cardinality());
+        assertTrue(filter.test("a"));
+        assertFalse(filter.test("c"));
+    }
+
+    @Test
+    void matchAllWithUnknownTypeIsEmpty() {
+        assertTrue(index.matchAll(List.of("restaurant", "unknown")).isEmpty());
+    }
+
+    @Test
+    void updateReplacesPreviousTypes() {
+        index.update("a", List.of("cafe"));
+        index.update("e", List.of("bar"));
+
+        assertFalse(index.matchAny(List.of("restaurant")).test("a"));
+        assertTrue(index.matchAny(List.of("cafe")).test("a"));
+        assertTrue(index.matchAny(List.of("bar")).test("e"));
+        assertFalse(index.matchAny(List.of("bar")).test("a"));
+    }
+
+    @Test
+    void unknownPlaceDoesNotMatch() {
+        assertFalse(index.matchAny(List.of("restaurant")).test("missing"));
+        assertFalse(index.matchAny(List.of("restaurant")).test(null));
+    }
+
+    @Test
+    void reloadIsSkippedWhileRedisIsUnhealthy() {
+        when(redisConnectionMonitor.isHealthy()).thenReturn(false);
+        when(reviewService.getTypes(anyList())).thenReturn(Map.of());
+
+        index.reload();
+
+        assertTrue(index.matchAny(List.of("restaurant")).test("a"));
+        assertEquals(2, index.matchAny(List.of("restaurant")).cardinality());
+    }
+
+    @Test
+    void reloadKeepsPreviousBitmapsWhenRedisFailsMidLoad() {
+        // getTypes가 Redis 오류로 빈 결과를 돌려주고 monitor가 unhealthy로 바뀐 경우
+        when(redisConnectionMonitor.isHealthy()).thenReturn(true, false);
+        when(reviewService.getTypes(anyList())).thenReturn(Map.of());
+
+        index.reload();
+
+        assertTrue(index.matchAny(List.of("restaurant")).test("a"));
+        assertTrue(index.matchAny(List.of("cafe")).test("b"));
+    }
+
+    @Test
+    void updatesDuringReloadSurviveSwap() {
+        when(reviewService.getTypes(anyList())).thenAnswer(invocation -> {
+            index.update("a", List.of("cafe"));
+            index.update("e", List.of("bar"));
+            return Map.of("a", List.of("restaurant", "bar"), "b", List.of("cafe"));
+        });
+
+        index.reload();
+
+        assertTrue(index.matchAny(List.of("cafe")).test("a"));
+        assertFalse(index.matchAny(List.of("restaurant")).test("a"));
+        assertTrue(index.matchAny(List.of("bar")).test("e"));
+        assertTrue(index.matchAny(List.of("cafe")).test("b"));
+    }
+
+    @Test
+    void notReadyWhenDisabled() {
+        TypeBitmapIndex disabled = new TypeBitmapIndex();
+        ReflectionTestUtils.setField(disabled, "enabled", false);
+        disabled.reload();
+
+        assertFalse(disabled.isReady());
+        assertTrue(index.isReady());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ceseats.service.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void countsExactlyWithinCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        sketch.offer("a", 1);
+        sketch.offer("b", 5);
+        sketch.offer("a", 2);
+        sketch.offer("c", 0);
+
+        assertEquals(List.of(
+                new SpaceSavingSketch.Counter("b", 5, 0),
+                new SpaceSavingSketch.Counter("a", 3, 0)), sketch.top(10));
+        assertEquals(1, sketch.top(1).size());
+    }
+
+    @Test
+    void newKeyReplacesSmallestCounterAndRecordsError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer("a", 5);
+        sketch.offer("b", 2);
+        sketch.offer("c", 1);
+
+        assertEquals(List.of(
+                new SpaceSavingSketch.Counter("a", 5, 0),
+                new SpaceSavingSketch.Counter("c", 3, 2)), sketch.top(2));
+    }
+
+    @Test
+    void equalCountsEvictByKeyOrder() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.offer("b", 1);
+        sketch.offer("a", 1);
+        sketch.offer("c", 1);
+
+        List<SpaceSavingSketch.Counter> top = sketch.top(2);
+        assertEquals("c", top.get(0).key());
+        assertEquals("b", top.get(1).key());
+    }
+
+    @Test
+    void heavyHittersSurviveNoiseAndBoundTrueCount() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        Random random = new Random(42);
+        long heavy = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 4 == 0) {
+                sketch.offer("heavy", 1);
+                heavy++;
+            } else {
+                sketch.offer("noise" + random.nextInt(1_000), 1);
+            }
+        }
+
+        SpaceSavingSketch.Counter first = sketch.top(1).get(0);
+        assertEquals("heavy", first.key());
+        assertTrue(first.count() >= heavy);
+        assertTrue(first.count() - first.error() <= heavy);
+        assertEquals(10, sketch.top(100).size());
+    }
+
+    @Test
+    void drainReturnsAllCountersAndEmpties() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        sketch.offer("a", 1);
+        sketch.offer("b", 2);
+
+        List<SpaceSavingSketch.Counter> drained = sketch.drain();
+
+        assertEquals(List.of("b", "a"), drained.stream().map(SpaceSavingSketch.Counter::key).toList());
+        assertTrue(sketch.isEmpty());
+        assertTrue(sketch.top(5).isEmpty());
+        sketch.offer("c", 1);
+        assertFalse(sketch.isEmpty());
+    }
+}
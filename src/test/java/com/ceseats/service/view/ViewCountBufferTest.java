@@ -0,0 +1,182 @@
+package com.ceseats.service.view;
+
+import com.ceseats.config.StoreSchemaInitializer;
+import com.ceseats.entity.PlaceView;
+import com.ceseats.repository.PlaceViewCount;
+import com.ceseats.repository.PlaceViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ViewCountBufferTest {
+
+    private PlaceViewRepository placeViewRepository;
+    private ViewCountBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        placeViewRepository = mock(PlaceViewRepository.class);
+        StoreSchemaInitializer storeSchemaInitializer = mock(StoreSchemaInitializer.class);
+        when(storeSchemaInitializer.isPostgreSql()).thenReturn(true);
+
+        buffer = new ViewCountBuffer();
+        ReflectionTestUtils.setField(buffer, "placeViewRepository", placeViewRepository);
+        ReflectionTestUtils.setField(buffer, "storeSchemaInitializer", storeSchemaInitializer);
+        ReflectionTestUtils.setField(buffer, "mode", ViewCountBuffer.MODE_BUFFERED);
+        ReflectionTestUtils.setField(buffer, "persistedCacheTtlMs", 60_000L);
+    }
+
+    @Test
+    void incrementLoadsPersistedCountOnceThenUsesCache() {
+        when(placeViewRepository.findByPlaceIdIn(List.of("a"))).thenReturn(List.of(placeView("a", 10L)));
+
+        assertEquals(11L, buffer.increment("a"));
+        assertEquals(14L, buffer.increment("a", 3L));
+        assertEquals(1L, buffer.increment("b"));
+        assertEquals(4L, buffer.pending("a"));
+        verify(placeViewRepository, times(1)).findByPlaceIdIn(List.of("a"));
+        verify(placeViewRepository, times(1)).findByPlaceIdIn(List.of("b"));
+        verify(placeViewRepository, never()).findByPlaceId(anyString());
+    }
+
+    @Test
+    void incrementAllLoadsOnlyUncachedPlacesInOneQuery() {
+        buffer.cachePersisted(List.of(placeView("a", 10L)), System.currentTimeMillis());
+        when(placeViewRepository.findByPlaceIdIn(List.of("b", "c"))).thenReturn(List.of(placeView("b", 5L)));
+        ViewCountDeltas deltas = new ViewCountDeltas();
+        deltas.add("c", 1L);
+        deltas.add("a", 1L);
+        deltas.add("b", 2L);
+
+        assertEquals(Map.of("a", 11L, "b", 7L, "c", 1L), buffer.incrementAll(deltas));
+        verify(placeViewRepository, times(1)).findByPlaceIdIn(anyCollection());
+    }
+
+    @Test
+    void expiredCacheEntryIsReloaded() {
+        ReflectionTestUtils.setField(buffer, "persistedCacheTtlMs", 0L);
+        when(placeViewRepository.findByPlaceIdIn(List.of("a")))
+                .thenReturn(List.of(placeView("a", 10L)), List.of(placeView("a", 20L)));
+
+        assertEquals(11L, buffer.increment("a"));
+        assertEquals(22L, buffer.increment("a"));
+    }
+
+    @Test
+    void olderReadDoesNotOverwriteFlushedCount() {
+        long readStartedAt = System.currentTimeMillis() - 1_000L;
+        buffer.increment("a");
+        when(placeViewRepository.incrementViewCounts(new String[]{"a"}, new Long[]{1L}))
+                .thenReturn(List.of(count("a", 101L)));
+        buffer.flush();
+
+        // flush 전에 시작된 조회 결과
+        buffer.cachePersisted(List.of(placeView("a", 100L)), readStartedAt);
+
+        assertEquals(102L, buffer.increment("a"));
+    }
+
+    @Test
+    void rejectsMalformedPlaceIds() {
+        assertFalse(ViewCountBuffer.isValidPlaceId(null));
+        assertFalse(ViewCountBuffer.isValidPlaceId(""));
+        assertFalse(ViewCountBuffer.isValidPlaceId("a,b"));
+        assertFalse(ViewCountBuffer.isValidPlaceId("a".repeat(256)));
+        assertTrue(ViewCountBuffer.isValidPlaceId("ChIJN1t_tDeuEmsRUsoyG83frY4"));
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.increment("a,b"));
+        assertEquals(0L, buffer.pending("a,b"));
+    }
+
+    @Test
+    void flushWritesSortedDeltasAndCachesReturnedCounts() {
+        buffer.increment("b", 2L);
+        buffer.increment("a");
+        when(placeViewRepository.incrementViewCounts(new String[]{"a", "b"}, new Long[]{1L, 2L}))
+                .thenReturn(List.of(count("a", 101L), count("b", 52L)));
+
+        buffer.flush();
+
+        assertEquals(0L, buffer.pending("a"));
+        assertEquals(102L, buffer.increment("a"));
+        assertEquals(53L, buffer.increment("b"));
+    }
+
+    @Test
+    void dataErrorDropsOnlyTheFailingPlace() {
+        List<String> written = new ArrayList<>();
+        when(placeViewRepository.incrementViewCounts(any(String[].class), any(Long[].class))).thenAnswer(invocation -> {
+            List<String> placeIds = Arrays.asList((String[]) invocation.getArgument(0));
+            if (placeIds.contains("bad")) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            written.addAll(placeIds);
+            return List.of();
+        });
+        buffer.increment("a");
+        buffer.increment("bad");
+        buffer.increment("c");
+        buffer.increment("d");
+
+        buffer.flush();
+
+        assertEquals(List.of("a", "c", "d"), written);
+        assertEquals(0L, buffer.pending("a"));
+        assertEquals(0L, buffer.pending("bad"));
+        assertEquals(0L, buffer.pending("d"));
+    }
+
+    @Test
+    void transientErrorRequeuesEverything() {
+        when(placeViewRepository.incrementViewCounts(any(String[].class), any(Long[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        buffer.increment("a", 2L);
+        buffer.increment("b");
+
+        buffer.flush();
+
+        assertEquals(2L, buffer.pending("a"));
+        assertEquals(1L, buffer.pending("b"));
+    }
+
+    private static PlaceView placeView(String placeId, long viewCount) {
+        PlaceView placeView = new PlaceView();
+        placeView.setPlaceId(placeId);
+        placeView.setViewCount(viewCount);
+        return placeView;
+    }
+
+    private static PlaceViewCount count(String placeId, long viewCount) {
+        return new PlaceViewCount() {
+            @Override
+            public String getPlaceId() {
+                return placeId;
+            }
+
+            @Override
+            public Long getViewCount() {
+                return viewCount;
+            }
+        };
+    }
+}
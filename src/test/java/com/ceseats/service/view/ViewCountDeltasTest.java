@@ -0,0 +1,45 @@
+package com.ceseats.service.view;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewCountDeltasTest {
+
+    @Test
+    void duplicatePlaceIdsAreSummed() {
+        ViewCountDeltas deltas = new ViewCountDeltas();
+        deltas.add("b", 1L);
+        deltas.add("a", 2L);
+        deltas.add("b", 3L);
+
+        assertArrayEquals(new String[]{"a", "b"}, deltas.placeIds());
+        assertArrayEquals(new Long[]{2L, 4L}, deltas.counts());
+    }
+
+    @Test
+    void commaInPlaceIdKeepsArraysAligned() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        map.put("c", 5L);
+        map.put("a,b", 1L);
+        map.put("a", 7L);
+
+        ViewCountDeltas deltas = ViewCountDeltas.of(map);
+
+        assertArrayEquals(new String[]{"a", "a,b", "c"}, deltas.placeIds());
+        assertArrayEquals(new Long[]{7L, 1L, 5L}, deltas.counts());
+    }
+
+    @Test
+    void emptyDeltas() {
+        ViewCountDeltas deltas = new ViewCountDeltas();
+
+        assertTrue(deltas.isEmpty());
+        assertArrayEquals(new String[0], deltas.placeIds());
+        assertArrayEquals(new Long[0], deltas.counts());
+    }
+}
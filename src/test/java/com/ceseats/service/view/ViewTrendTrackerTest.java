@@ -0,0 +1,173 @@
+package com.ceseats.service.view;
+
+import com.ceseats.service.PlaceSearchCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewTrendTrackerTest {
+
+    private static final double TAU = 1000.0;
+
+    @Test
+    void windowCountSumsBucketsInsideWindow() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(10, true, 0, 1, TAU);
+        trend.add(11, true, 0, 2, TAU);
+        trend.add(12, true, 0, 4, TAU);
+        trend.add(12, true, 0, 1, TAU);
+
+        assertEquals(8, trend.windowCount(12));
+        // bucket 10이 window(11~13) 밖으로 밀려남
+        assertEquals(7, trend.windowCount(13));
+        assertEquals(0, trend.windowCount(15));
+    }
+
+    @Test
+    void ringSlotIsReusedForNewBucket() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(10, true, 0, 5, TAU);
+        // 10과 같은 slot
+        trend.add(13, true, 0, 1, TAU);
+
+        assertEquals(1, trend.windowCount(13));
+    }
+
+    @Test
+    void lateEventForOverwrittenSlotIsIgnored() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(13, true, 0, 1, TAU);
+        // 같은 slot의 이전 bucket: window 집계에는 반영하지 않음
+        trend.add(10, true, 0, 5, TAU);
+
+        assertEquals(1, trend.windowCount(13));
+    }
+
+    @Test
+    void outOfWindowEventOnlyAffectsScore() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(1, false, 0, 3, TAU);
+
+        assertEquals(0, trend.windowCount(1));
+        assertEquals(3.0, trend.score(0, TAU), 1e-9);
+    }
+
+    @Test
+    void scoreDecaysExponentially() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(0, true, 0, 2, TAU);
+
+        assertEquals(2.0, trend.score(0, TAU), 1e-9);
+        assertEquals(2.0 * Math.exp(-1), trend.score(1000, TAU), 1e-9);
+        assertEquals(2.0 * Math.exp(-3), trend.score(3000, TAU), 1e-9);
+        // 과거 시각으로 조회해도 증가하지 않음
+        assertEquals(2.0, trend.score(-500, TAU), 1e-9);
+    }
+
+    @Test
+    void scoreIsIndependentOfEventOrder() {
+        ViewTrendTracker.Trend inOrder = new ViewTrendTracker.Trend(3);
+        inOrder.add(0, true, 1000, 1, TAU);
+        inOrder.add(0, true, 2000, 2, TAU);
+
+        ViewTrendTracker.Trend reversed = new ViewTrendTracker.Trend(3);
+        reversed.add(0, true, 2000, 2, TAU);
+        reversed.add(0, true, 1000, 1, TAU);
+
+        double expected = Math.exp(-2) + 2 * Math.exp(-1);
+        assertEquals(expected, inOrder.score(3000, TAU), 1e-9);
+        assertEquals(expected, reversed.score(3000, TAU), 1e-9);
+    }
+
+    @Test
+    void idleOnceWindowPassedAndScoreNegligible() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(10, true, 0, 1, TAU);
+
+        assertFalse(trend.isIdle(10, 0, TAU));
+        assertFalse(trend.isIdle(13, 0, TAU));
+        assertTrue(trend.isIdle(13, 10_000, TAU));
+    }
+
+    @Test
+    void rankKeyIsTimeInvariantLogOfScore() {
+        ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+        trend.add(0, true, 1000, 3, TAU);
+        trend.add(0, true, 4000, 2, TAU);
+        double key = trend.rankKey(TAU);
+
+        for (long now : new long[]{4000, 10_000, 50_000}) {
+            assertEquals(key, Math.log(trend.score(now, TAU)) + now / TAU, 1e-9);
+        }
+    }
+
+    @Test
+    void viewDescPagesDoNotOverlapWhenClockAdvances() {
+        Map<String, ViewTrendTracker.Trend> trends = new LinkedHashMap<>();
+        long[][] views = {{0, 9}, {2000, 4}, {5000, 3}, {6000, 1}, {1000, 6}, {4000, 2}};
+        for (int i = 0; i < views.length; i++) {
+            ViewTrendTracker.Trend trend = new ViewTrendTracker.Trend(3);
+            trend.add(0, true, views[i][0], views[i][1], TAU);
+            trends.put("p" + i, trend);
+        }
+
+        // 1페이지 3개
+        List<PlaceSearchCursor> page1 = page(trends, null, 3);
+        // 2페이지: 커서를 받은 뒤 시간이 한참 지남 (감쇠 점수는 모두 줄었지만 순위 키는 그대로)
+        List<PlaceSearchCursor> page2 = page(trends, page1.get(2), 3);
+
+        List<String> shown = new ArrayList<>();
+        page1.forEach(key -> shown.add(key.placeId()));
+        page2.forEach(key -> shown.add(key.placeId()));
+        long later = 60_000;
+        List<String> byScoreLater = trends.keySet().stream()
+                .sorted(Comparator.comparingDouble((String id) -> trends.get(id).score(later, TAU)).reversed())
+                .collect(Collectors.toList());
+        assertEquals(byScoreLater, shown);
+    }
+
+    private static List<PlaceSearchCursor> page(Map<String, ViewTrendTracker.Trend> trends, PlaceSearchCursor cursor, int limit) {
+        return trends.entrySet().stream()
+                .map(entry -> new PlaceSearchCursor("view_desc", -entry.getValue().rankKey(TAU), 1.0, entry.getKey()))
+                .filter(key -> cursor == null || cursor.isBefore(key))
+                .sorted(PlaceSearchCursor.ORDER)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void localTrackerReportsWindowCountsAndScores() {
+        ViewTrendTracker tracker = new ViewTrendTracker();
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        ReflectionTestUtils.setField(tracker, "shared", false);
+        ReflectionTestUtils.setField(tracker, "windowMinutes", 10);
+        ReflectionTestUtils.setField(tracker, "bucketSeconds", 60);
+        ReflectionTestUtils.setField(tracker, "halfLifeMinutes", 30.0);
+        long now = System.currentTimeMillis();
+
+        tracker.record("a", now, 2L);
+        tracker.record("a", now - 60 * 60_000L, 5L);
+        tracker.record("b", now + 60_000L, 1L);
+
+        // 1시간 전 조회는 window 밖, 미래 시각은 현재로 보정
+        assertEquals(Map.of("a", 2L, "b", 1L), tracker.windowCounts(List.of("a", "b", "c")));
+
+        Map<String, Double> scores = tracker.scores(List.of("a"));
+        // 1시간 전 5회는 반감기 두 번 → 1.25
+        assertEquals(3.25, scores.get("a"), 0.01);
+
+        Map<String, Double> keys = tracker.rankKeys(List.of("a", "b", "c"));
+        assertTrue(keys.get("a") > keys.get("b"));
+        assertFalse(keys.containsKey("c"));
+    }
+}